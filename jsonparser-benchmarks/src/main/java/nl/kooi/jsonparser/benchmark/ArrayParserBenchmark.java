@@ -0,0 +1,65 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.parser.JsonArrayParser;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ArrayParserBenchmark {
+
+    @Param({"FLAT_WIDE", "DEEP_NESTING", "NUMERIC_ARRAY", "STRING_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"100B", "10KB", "1MB", "100MB"})
+    private String size;
+
+    private byte[] bytes;
+    private String json;
+    private MutableWriterState state;
+
+    @Setup
+    public void setUp() {
+        bytes = DocumentCorpus.array(shape, size);
+        json = new String(bytes, StandardCharsets.UTF_8);
+        state = new MutableWriterState();
+    }
+
+    @Benchmark
+    public List<Object> parseString() {
+        return JsonArrayParser.parse(json);
+    }
+
+    @Benchmark
+    public List<Object> parseStringWithState() {
+        return JsonArrayParser.parse(json, state);
+    }
+
+    @Benchmark
+    public List<Object> parseBytes() {
+        return JsonArrayParser.parse(bytes, 0, bytes.length, state);
+    }
+
+    @Benchmark
+    public List<Object> parseParallel() {
+        return JsonArrayParser.parseParallel(bytes);
+    }
+}
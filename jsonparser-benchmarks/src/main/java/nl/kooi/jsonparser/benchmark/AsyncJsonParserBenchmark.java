@@ -0,0 +1,99 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.AsyncJsonParser;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AsyncJsonParserBenchmark {
+
+    @Param({"FLAT_WIDE", "DEEP_NESTING", "NUMERIC_ARRAY", "STRING_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"10KB", "1MB"})
+    private String size;
+
+    @Param({"1", "4", "16"})
+    private int concurrency;
+
+    private List<byte[]> documents;
+    private List<Path> files;
+    private Path directory;
+    private AsyncJsonParser parser;
+
+    @Setup
+    public void setUp() throws IOException {
+        var bytes = DocumentCorpus.lines(shape, size);
+        documents = new ArrayList<>();
+        files = new ArrayList<>();
+        directory = Files.createTempDirectory("async-benchmark");
+
+        var start = 0;
+        for (var position = 0; position <= bytes.length; position++) {
+            if (position == bytes.length || bytes[position] == '\n') {
+                if (position > start) {
+                    var document = Arrays.copyOfRange(bytes, start, position);
+                    documents.add(document);
+                    files.add(Files.write(directory.resolve(documents.size() + ".json"), document));
+                }
+                start = position + 1;
+            }
+        }
+
+        parser = new AsyncJsonParser(concurrency);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        parser.close();
+
+        for (var file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public List<JsonObject> parseOneByOne() {
+        var objects = new ArrayList<JsonObject>(documents.size());
+        for (var document : documents) {
+            objects.add(JsonObjectParser.parse(document));
+        }
+        return objects;
+    }
+
+    @Benchmark
+    public List<JsonObject> parseAllAsync() {
+        return parser.parseAllAsync(documents).join();
+    }
+
+    @Benchmark
+    public List<JsonObject> parseAllFilesAsync() {
+        return parser.parseAllAsync(files).join();
+    }
+}
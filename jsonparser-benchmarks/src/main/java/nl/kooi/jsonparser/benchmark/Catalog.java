@@ -0,0 +1,14 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.codec.JsonCodec;
+
+import java.util.List;
+
+/* The records of a STRING_HEAVY object document. */
+@JsonCodec
+public record Catalog(List<Item> records) {
+
+    @JsonCodec
+    public record Item(int id, String name, String description, List<String> tags) {
+    }
+}
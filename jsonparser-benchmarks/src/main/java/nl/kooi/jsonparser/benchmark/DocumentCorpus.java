@@ -0,0 +1,102 @@
+package nl.kooi.jsonparser.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Generates the documents the benchmarks parse. The documents only depend on their shape and
+ * size (the random generator is seeded with both), so every run parses the same bytes. A
+ * document is generated once per JVM and kept.
+ */
+public final class DocumentCorpus {
+
+    private static final Map<String, byte[]> DOCUMENTS = new ConcurrentHashMap<>();
+
+    private DocumentCorpus() {
+    }
+
+    public static byte[] object(DocumentShape shape, String size) {
+        return DOCUMENTS.computeIfAbsent("object " + shape + " " + size, key -> generateObject(shape, parseSize(size)));
+    }
+
+    public static byte[] array(DocumentShape shape, String size) {
+        return DOCUMENTS.computeIfAbsent("array " + shape + " " + size, key -> generateArray(shape, parseSize(size)));
+    }
+
+    /* Newline delimited JSON, one small object per line. */
+    public static byte[] lines(DocumentShape shape, String size) {
+        return DOCUMENTS.computeIfAbsent("lines " + shape + " " + size, key -> generateLines(shape, parseSize(size)));
+    }
+
+    /* Parses sizes like 100B, 10KB, 1MB and 100MB. */
+    public static int parseSize(String size) {
+        var unit = size.replaceAll("[0-9]", "");
+        var amount = Integer.parseInt(size.substring(0, size.length() - unit.length()));
+
+        return switch (unit) {
+            case "B" -> amount;
+            case "KB" -> amount * 1024;
+            case "MB" -> amount * 1024 * 1024;
+            default -> throw new IllegalArgumentException("Unknown size unit: " + size);
+        };
+    }
+
+    private static byte[] generateObject(DocumentShape shape, int size) {
+        var random = random(shape, size);
+        var json = new StringBuilder(size + 1024).append('{');
+
+        if (shape.isFlat()) {
+            for (var i = 0; i == 0 || json.length() < size - 1; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(shape.fieldName(i)).append("\":");
+                shape.appendElement(json, i, random);
+            }
+        } else {
+            json.append('"').append(shape.fieldName(0)).append("\":");
+            appendElements(json, shape, size - 1, random);
+        }
+
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] generateArray(DocumentShape shape, int size) {
+        var json = new StringBuilder(size + 1024);
+        appendElements(json, shape, size, random(shape, size));
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] generateLines(DocumentShape shape, int size) {
+        var random = random(shape, size);
+        var json = new StringBuilder(size + 1024);
+
+        for (var i = 0; i == 0 || json.length() < size; i++) {
+            json.append("{\"id\":").append(i).append(",\"value\":");
+            shape.appendElement(json, i, random);
+            json.append("}\n");
+        }
+
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendElements(StringBuilder json, DocumentShape shape, int size, Random random) {
+        json.append('[');
+
+        for (var i = 0; i == 0 || json.length() < size - 1; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            shape.appendElement(json, i, random);
+        }
+
+        json.append(']');
+    }
+
+    private static Random random(DocumentShape shape, int size) {
+        return new Random(31L * shape.ordinal() + size);
+    }
+}
@@ -0,0 +1,86 @@
+package nl.kooi.jsonparser.benchmark;
+
+import java.util.Random;
+
+/*
+ * The kinds of documents in the corpus. Every shape generates the elements of a document; an
+ * object document either has a field per element (flat), or a single field that holds the
+ * elements as an array (wrapped).
+ */
+public enum DocumentShape {
+
+    /* Many fields with short values of every type. */
+    FLAT_WIDE(true, "/field1") {
+        @Override
+        void appendElement(StringBuilder json, int index, Random random) {
+            switch (index % 4) {
+                case 0 -> json.append(random.nextInt());
+                case 1 -> json.append(random.nextInt(1_000_000) / 100.0);
+                case 2 -> json.append("\"value ").append(index).append('"');
+                default -> json.append(random.nextBoolean());
+            }
+        }
+    },
+
+    /* Chains of objects that are nested 32 levels deep. */
+    DEEP_NESTING(true, "/branch0/child/child/depth") {
+        @Override
+        void appendElement(StringBuilder json, int index, Random random) {
+            for (var depth = 0; depth < NESTING_DEPTH; depth++) {
+                json.append("{\"depth\":").append(depth).append(",\"child\":");
+            }
+            json.append("{\"value\":").append(random.nextInt()).append('}');
+            json.append("}".repeat(NESTING_DEPTH));
+        }
+    },
+
+    /* Doubles with two decimals. */
+    NUMERIC_ARRAY(false, "/values/0") {
+        @Override
+        void appendElement(StringBuilder json, int index, Random random) {
+            json.append(random.nextInt(100_000_000) / 100.0);
+        }
+    },
+
+    /* Records with long texts, escapes and non-ASCII characters. */
+    STRING_HEAVY(false, "/records/*/id") {
+        @Override
+        void appendElement(StringBuilder json, int index, Random random) {
+            json.append("{\"id\":").append(index)
+                    .append(",\"name\":\"name ").append(random.nextInt(10_000))
+                    .append("\",\"description\":\"")
+                    .append("A \\\"quoted\\\" description with a line\\nbreak, café and 日本語. ".repeat(1 + random.nextInt(4)))
+                    .append("\",\"tags\":[\"alpha\",\"beta\",\"gamma\"]}");
+        }
+    };
+
+    static final int NESTING_DEPTH = 32;
+
+    private final boolean flat;
+    private final String selectivePath;
+
+    DocumentShape(boolean flat, String selectivePath) {
+        this.flat = flat;
+        this.selectivePath = selectivePath;
+    }
+
+    abstract void appendElement(StringBuilder json, int index, Random random);
+
+    boolean isFlat() {
+        return flat;
+    }
+
+    /* A path that selects a small part of an object document of this shape. */
+    String selectivePath() {
+        return selectivePath;
+    }
+
+    String fieldName(int index) {
+        return switch (this) {
+            case FLAT_WIDE -> "field" + index;
+            case DEEP_NESTING -> "branch" + index;
+            case NUMERIC_ARRAY -> "values";
+            case STRING_HEAVY -> "records";
+        };
+    }
+}
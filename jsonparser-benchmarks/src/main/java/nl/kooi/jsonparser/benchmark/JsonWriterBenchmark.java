@@ -0,0 +1,65 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import nl.kooi.jsonparser.writer.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class JsonWriterBenchmark {
+
+    @Param({"FLAT_WIDE", "DEEP_NESTING", "NUMERIC_ARRAY", "STRING_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"100B", "10KB", "1MB", "100MB"})
+    private String size;
+
+    private JsonObject jsonObject;
+    private JsonWriter writer;
+    private ByteBuffer buffer;
+    private final OutputStream discardingStream = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        var bytes = DocumentCorpus.object(shape, size);
+
+        jsonObject = JsonObjectParser.parse(bytes);
+        writer = new JsonWriter();
+        buffer = ByteBuffer.allocate(bytes.length * 2);
+    }
+
+    @Benchmark
+    public String writeString() {
+        return JsonWriter.toJson(jsonObject);
+    }
+
+    @Benchmark
+    public void writeToOutputStream() {
+        writer.write(jsonObject, discardingStream);
+    }
+
+    @Benchmark
+    public ByteBuffer writeToByteBuffer() {
+        writer.write(jsonObject, buffer.clear());
+        return buffer;
+    }
+}
@@ -0,0 +1,51 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.parser.NdJsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class NdJsonParserBenchmark {
+
+    @Param({"FLAT_WIDE", "DEEP_NESTING", "NUMERIC_ARRAY", "STRING_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"10KB", "1MB", "100MB"})
+    private String size;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = DocumentCorpus.lines(shape, size);
+    }
+
+    @Benchmark
+    public long parseInOrder() {
+        return NdJsonParser.parse(bytes).count();
+    }
+
+    @Benchmark
+    public long parseInAnyOrder() {
+        var objects = new LongAdder();
+        NdJsonParser.parse(bytes, false, object -> objects.increment());
+
+        return objects.sum();
+    }
+}
@@ -0,0 +1,139 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import nl.kooi.jsonparser.parser.JsonReader;
+import nl.kooi.jsonparser.parser.JsonVisitor;
+import nl.kooi.jsonparser.parser.JsonVisitorParser;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.parser.util.StructuralIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ObjectParserBenchmark {
+
+    @Param({"FLAT_WIDE", "DEEP_NESTING", "NUMERIC_ARRAY", "STRING_HEAVY"})
+    private DocumentShape shape;
+
+    @Param({"100B", "10KB", "1MB", "100MB"})
+    private String size;
+
+    private byte[] bytes;
+    private String json;
+    private MutableWriterState state;
+    private List<String> paths;
+    private String firstField;
+
+    @Setup
+    public void setUp() {
+        bytes = DocumentCorpus.object(shape, size);
+        json = new String(bytes, StandardCharsets.UTF_8);
+        state = new MutableWriterState();
+        paths = List.of(shape.selectivePath());
+        firstField = shape.fieldName(0);
+    }
+
+    @Benchmark
+    public JsonObject parseString() {
+        return JsonObjectParser.parse(json);
+    }
+
+    @Benchmark
+    public JsonObject parseStringWithState() {
+        return JsonObjectParser.parse(json, state);
+    }
+
+    @Benchmark
+    public JsonObject parseBytes() {
+        return JsonObjectParser.parse(bytes, 0, bytes.length, state);
+    }
+
+    @Benchmark
+    public JsonObject parseStream() {
+        return JsonObjectParser.parse(new ByteArrayInputStream(bytes), state);
+    }
+
+    @Benchmark
+    public Object parseLazyAndReadOneField() {
+        return JsonObjectParser.parseLazy(bytes).get(firstField);
+    }
+
+    @Benchmark
+    public JsonObject parseSelectedPaths() {
+        return JsonObjectParser.parse(bytes, paths);
+    }
+
+    @Benchmark
+    public int pullParse() {
+        var reader = new JsonReader(bytes);
+        var tokens = 0;
+
+        while (reader.nextToken() != null) {
+            tokens++;
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public int visit() {
+        var visitor = new CountingVisitor();
+        JsonVisitorParser.parse(bytes, 0, bytes.length, state, visitor);
+
+        return visitor.events;
+    }
+
+    @Benchmark
+    public int[] buildStructuralIndex() {
+        return StructuralIndex.build(bytes, 0, bytes.length);
+    }
+
+    private static final class CountingVisitor implements JsonVisitor {
+
+        private int events;
+
+        @Override
+        public void startObject() {
+            events++;
+        }
+
+        @Override
+        public void startArray() {
+            events++;
+        }
+
+        @Override
+        public void value(CharSequence text) {
+            events++;
+        }
+
+        @Override
+        public void value(int number) {
+            events++;
+        }
+
+        @Override
+        public void value(double number) {
+            events++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package nl.kooi.jsonparser.benchmark;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares building a tree and copying it into records, with binding the records directly
+ * (through a codec that is built at runtime) and with a generated codec.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class RecordBindingBenchmark {
+
+    @Param({"100B", "10KB", "1MB", "100MB"})
+    private String size;
+
+    private byte[] bytes;
+    private MutableWriterState state;
+
+    @Setup
+    public void setUp() {
+        bytes = DocumentCorpus.object(DocumentShape.STRING_HEAVY, size);
+        state = new MutableWriterState();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Catalog parseTreeAndCopy() {
+        var records = (List<Object>) JsonObjectParser.parse(bytes, 0, bytes.length, state).get("records");
+
+        return new Catalog(records.stream()
+                .map(JsonObject.class::cast)
+                .map(item -> new Catalog.Item(
+                        (Integer) item.get("id"),
+                        (String) item.get("name"),
+                        (String) item.get("description"),
+                        ((List<Object>) item.get("tags")).stream().map(String.class::cast).toList()))
+                .toList());
+    }
+
+    @Benchmark
+    public Catalog bindRecords() {
+        return JsonObjectParser.parse(bytes, 0, bytes.length, state, Catalog.class);
+    }
+
+    @Benchmark
+    public Catalog bindWithGeneratedCodec() {
+        return CatalogJsonCodec.parse(bytes);
+    }
+}
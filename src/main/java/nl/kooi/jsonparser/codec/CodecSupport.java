@@ -0,0 +1,168 @@
+package nl.kooi.jsonparser.codec;
+
+import nl.kooi.jsonparser.parser.JsonReader;
+import nl.kooi.jsonparser.parser.state.Token;
+import nl.kooi.jsonparser.writer.JsonSerializer;
+import nl.kooi.jsonparser.writer.JsonWriter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * The parts of the generated codecs that are the same for every record.
+ */
+public final class CodecSupport {
+
+    private CodecSupport() {
+    }
+
+    public static void expect(JsonReader reader, Token token, String typeName) {
+        if (reader.currentToken() != token) {
+            throw new IllegalArgumentException("Expected " + token + " for " + typeName + ", but found " + reader.currentToken());
+        }
+    }
+
+    /*
+     * Values are bound like the RecordBindingVisitor binds them: only text is bound to a String,
+     * char or enum, only true and false to a boolean, and only numbers to a number. A number with a
+     * fraction, or one that doesn't fit the type of the component, is refused instead of narrowed.
+     * Null is handled by the generated code.
+     */
+    public static String readString(JsonReader reader) {
+        if (reader.currentToken() != Token.TEXT) {
+            throw cannotBind(reader, "java.lang.String");
+        }
+        return reader.getText();
+    }
+
+    public static <E extends Enum<E>> E readEnum(JsonReader reader, Class<E> type) {
+        if (reader.currentToken() == Token.TEXT) {
+            var text = reader.getText();
+
+            for (var constant : type.getEnumConstants()) {
+                if (constant.name().equals(text)) {
+                    return constant;
+                }
+            }
+        }
+        throw cannotBind(reader, type.getName());
+    }
+
+    public static boolean readBoolean(JsonReader reader) {
+        if (reader.currentToken() != Token.BOOLEAN) {
+            throw cannotBind(reader, "boolean");
+        }
+        return reader.getBooleanValue();
+    }
+
+    public static double readDouble(JsonReader reader) {
+        if (reader.currentToken() != Token.NUMBER) {
+            throw cannotBind(reader, "double");
+        }
+        return reader.getDoubleValue();
+    }
+
+    public static float readFloat(JsonReader reader) {
+        if (reader.currentToken() != Token.NUMBER) {
+            throw cannotBind(reader, "float");
+        }
+        return (float) reader.getDoubleValue();
+    }
+
+    public static BigDecimal readDecimal(JsonReader reader) {
+        if (reader.currentToken() != Token.NUMBER) {
+            throw cannotBind(reader, "java.math.BigDecimal");
+        }
+        return reader.getDecimalValue();
+    }
+
+    public static byte readByte(JsonReader reader) {
+        return (byte) readIntegral(reader, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte");
+    }
+
+    public static short readShort(JsonReader reader) {
+        return (short) readIntegral(reader, Short.MIN_VALUE, Short.MAX_VALUE, "short");
+    }
+
+    public static int readInt(JsonReader reader) {
+        return (int) readIntegral(reader, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+    }
+
+    public static long readLong(JsonReader reader) {
+        return readIntegral(reader, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+    }
+
+    public static BigInteger readBigInteger(JsonReader reader) {
+        try {
+            return reader.getDecimalValue().toBigIntegerExact();
+        } catch (ArithmeticException | IllegalStateException e) {
+            throw cannotBind(reader, "java.math.BigInteger");
+        }
+    }
+
+    public static char readChar(JsonReader reader) {
+        if (reader.currentToken() != Token.TEXT || reader.getText().length() != 1) {
+            throw cannotBind(reader, "char");
+        }
+        return reader.getText().charAt(0);
+    }
+
+    private static long readIntegral(JsonReader reader, long minimum, long maximum, String typeName) {
+        long value;
+
+        try {
+            value = reader.getLongValue();
+        } catch (ArithmeticException | IllegalStateException e) {
+            throw cannotBind(reader, typeName);
+        }
+
+        if (value < minimum || value > maximum) {
+            throw cannotBind(reader, typeName);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException cannotBind(JsonReader reader, String typeName) {
+        var value = switch (reader.currentToken()) {
+            case TEXT -> '"' + reader.getText() + '"';
+            case NUMBER, BOOLEAN, NULL -> reader.getText();
+            case null, default -> String.valueOf(reader.currentToken());
+        };
+
+        return new IllegalArgumentException("Can't bind " + value + " to " + typeName);
+    }
+
+    /*
+     * Reads the array at the current token of the reader, the element reader is called with the
+     * reader at the first token of every element.
+     */
+    public static <E> List<E> readList(JsonReader reader, Function<JsonReader, E> elementReader) {
+        if (reader.currentToken() == Token.NULL) {
+            return null;
+        }
+
+        expect(reader, Token.SQ_BRACKET_OPEN, "List");
+
+        var elements = new ArrayList<E>();
+        for (var token = reader.nextToken(); token != null && token != Token.SQ_BRACKET_CLOSED; token = reader.nextToken()) {
+            elements.add(elementReader.apply(reader));
+        }
+        return elements;
+    }
+
+    public static <E> void writeList(List<? extends E> list, JsonSerializer<? super E> elementWriter, JsonWriter writer) {
+        if (list == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.startArray();
+        for (var element : list) {
+            elementWriter.write(element, writer);
+        }
+        writer.endArray();
+    }
+}
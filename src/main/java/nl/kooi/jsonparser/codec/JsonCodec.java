@@ -0,0 +1,17 @@
+package nl.kooi.jsonparser.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Marks a record for which the JsonCodecProcessor generates a <Record>JsonCodec class, with
+ * parse and write methods that don't use reflection.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JsonCodec {
+}
@@ -0,0 +1,319 @@
+package nl.kooi.jsonparser.codec.processor;
+
+import nl.kooi.jsonparser.codec.JsonCodec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Writes the source of the codec of one record. Parsing is done with the JsonReader: the
+ * generated read method switches on the name of every field and reads the value with the getter
+ * for the type of the component. Writing is done with the events of the JsonWriter. Nested
+ * records must have a codec of their own, Lists are read and written element by element.
+ *
+ * Supported component types are primitives and their wrappers, String, BigDecimal, BigInteger,
+ * enums, records annotated with @JsonCodec and Lists of these.
+ */
+final class CodecGenerator {
+
+    private final TypeElement record;
+    private final List<? extends RecordComponentElement> components;
+
+    CodecGenerator(TypeElement record) {
+        this.record = record;
+        this.components = record.getRecordComponents();
+    }
+
+    String qualifiedCodecName() {
+        return qualifiedCodecName(record);
+    }
+
+    String generate() {
+        var recordName = record.getQualifiedName().toString();
+        var codecName = codecName(record);
+        var packageName = packageName(record);
+        var source = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+
+        source.append("""
+                import nl.kooi.jsonparser.codec.CodecSupport;
+                import nl.kooi.jsonparser.parser.JsonReader;
+                import nl.kooi.jsonparser.parser.state.Token;
+                import nl.kooi.jsonparser.writer.JsonWriter;
+
+                import java.io.InputStream;
+                import java.io.OutputStream;
+                import java.io.Reader;
+                import java.nio.ByteBuffer;
+
+                @javax.annotation.processing.Generated("nl.kooi.jsonparser.codec.processor.JsonCodecProcessor")
+                public final class %2$s {
+
+                    private %2$s() {
+                    }
+
+                    public static %1$s parse(String json) {
+                        return parse(new JsonReader(json));
+                    }
+
+                    public static %1$s parse(byte[] json) {
+                        return parse(new JsonReader(json));
+                    }
+
+                    public static %1$s parse(InputStream json) {
+                        return parse(new JsonReader(json));
+                    }
+
+                    public static %1$s parse(Reader json) {
+                        return parse(new JsonReader(json));
+                    }
+
+                    private static %1$s parse(JsonReader reader) {
+                        reader.nextToken();
+                        return read(reader);
+                    }
+
+                    public static %1$s read(JsonReader reader) {
+                        if (reader.currentToken() == Token.NULL) {
+                            return null;
+                        }
+
+                        CodecSupport.expect(reader, Token.BRACE_OPEN, "%3$s");
+
+                """.formatted(recordName, codecName, record.getSimpleName()));
+
+        for (var component : components) {
+            source.append("        ").append(javaType(component.asType())).append(' ').append(local(component))
+                    .append(" = ").append(defaultValue(component.asType())).append(";\n");
+        }
+
+        source.append("""
+
+                        for (var token = reader.nextToken(); token != null && token != Token.BRACE_CLOSED; token = reader.nextToken()) {
+                            switch (reader.currentName()) {
+                """);
+
+        for (var component : components) {
+            var type = component.asType();
+            var read = readExpression(type, "reader", 1, component);
+
+            source.append("                case \"").append(component.getSimpleName()).append("\" -> ").append(local(component)).append(" = ");
+            if (type.getKind().isPrimitive()) {
+                source.append("reader.currentToken() == Token.NULL ? ").append(local(component)).append(" : ");
+            }
+            source.append(read).append(";\n");
+        }
+
+        source.append("""
+                                case null, default -> reader.skipChildren();
+                            }
+                        }
+
+                        return new %1$s(%2$s);
+                    }
+
+                    public static String toJson(%1$s value) {
+                        var json = new StringBuilder();
+                        write(value, json);
+
+                        return json.toString();
+                    }
+
+                    public static void write(%1$s value, Appendable output) {
+                        new JsonWriter().write(value, %3$s::write, output);
+                    }
+
+                    public static void write(%1$s value, OutputStream output) {
+                        new JsonWriter().write(value, %3$s::write, output);
+                    }
+
+                    public static void write(%1$s value, ByteBuffer output) {
+                        new JsonWriter().write(value, %3$s::write, output);
+                    }
+
+                    public static void write(%1$s value, JsonWriter writer) {
+                        if (value == null) {
+                            writer.nullValue();
+                            return;
+                        }
+
+                        writer.startObject();
+                """.formatted(recordName, String.join(", ", components.stream().map(CodecGenerator::local).toList()), codecName));
+
+        for (var component : components) {
+            source.append("        writer.field(\"").append(component.getSimpleName()).append("\");\n")
+                    .append("        ").append(writeExpression(component.asType(), "value." + component.getSimpleName() + "()", "writer", 1)).append(";\n");
+        }
+
+        source.append("""
+                        writer.endObject();
+                    }
+                }
+                """);
+
+        return source.toString();
+    }
+
+    private String readExpression(TypeMirror type, String reader, int depth, Element component) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "CodecSupport.readBoolean(" + reader + ")";
+            case BYTE -> "CodecSupport.readByte(" + reader + ")";
+            case SHORT -> "CodecSupport.readShort(" + reader + ")";
+            case INT -> "CodecSupport.readInt(" + reader + ")";
+            case LONG -> "CodecSupport.readLong(" + reader + ")";
+            case FLOAT -> "CodecSupport.readFloat(" + reader + ")";
+            case DOUBLE -> "CodecSupport.readDouble(" + reader + ")";
+            case CHAR -> "CodecSupport.readChar(" + reader + ")";
+            case DECLARED -> readDeclaredExpression((DeclaredType) type, reader, depth, component);
+            default -> throw unsupported(type, component);
+        };
+    }
+
+    private String readDeclaredExpression(DeclaredType type, String reader, int depth, Element component) {
+        var element = (TypeElement) type.asElement();
+
+        var read = switch (element.getQualifiedName().toString()) {
+            case "java.lang.String" -> "CodecSupport.readString(" + reader + ")";
+            case "java.lang.Boolean" -> "CodecSupport.readBoolean(" + reader + ")";
+            case "java.lang.Byte" -> "CodecSupport.readByte(" + reader + ")";
+            case "java.lang.Short" -> "CodecSupport.readShort(" + reader + ")";
+            case "java.lang.Integer" -> "CodecSupport.readInt(" + reader + ")";
+            case "java.lang.Long" -> "CodecSupport.readLong(" + reader + ")";
+            case "java.lang.Float" -> "CodecSupport.readFloat(" + reader + ")";
+            case "java.lang.Double" -> "CodecSupport.readDouble(" + reader + ")";
+            case "java.lang.Character" -> "CodecSupport.readChar(" + reader + ")";
+            case "java.math.BigDecimal" -> "CodecSupport.readDecimal(" + reader + ")";
+            case "java.math.BigInteger" -> "CodecSupport.readBigInteger(" + reader + ")";
+            case "java.util.List" -> {
+                var elementReader = "reader" + depth;
+                yield "CodecSupport.readList(" + reader + ", " + elementReader + " -> "
+                        + readExpression(elementType(type, component), elementReader, depth + 1, component) + ")";
+            }
+            default -> null;
+        };
+
+        if (read != null) {
+            return read.startsWith("CodecSupport.readList") ? read : nullable(reader, read);
+        } else if (element.getKind() == ElementKind.ENUM) {
+            return nullable(reader, "CodecSupport.readEnum(" + reader + ", " + element.getQualifiedName() + ".class)");
+        } else if (hasCodec(element)) {
+            return qualifiedCodecName(element) + ".read(" + reader + ")";
+        }
+
+        throw unsupported(type, component);
+    }
+
+    private String writeExpression(TypeMirror type, String value, String writer, int depth) {
+        if (type.getKind() == TypeKind.FLOAT || type.getKind() == TypeKind.CHAR) {
+            return writer + ".value((Object) " + value + ")";
+        } else if (type.getKind().isPrimitive()) {
+            return writer + ".value(" + value + ")";
+        }
+
+        var element = (TypeElement) ((DeclaredType) type).asElement();
+
+        if (hasCodec(element)) {
+            return qualifiedCodecName(element) + ".write(" + value + ", " + writer + ")";
+        } else if (element.getQualifiedName().contentEquals("java.util.List") && containsCodec(type)) {
+            var elementValue = "element" + depth;
+            var elementWriter = "writer" + depth;
+
+            return "CodecSupport.writeList(" + value + ", (" + elementValue + ", " + elementWriter + ") -> "
+                    + writeExpression(elementType((DeclaredType) type, record), elementValue, elementWriter, depth + 1) + ", " + writer + ")";
+        }
+
+        return writer + ".value((Object) " + value + ")";
+    }
+
+    private boolean containsCodec(TypeMirror type) {
+        if (!(type instanceof DeclaredType declaredType)) {
+            return false;
+        }
+
+        var element = (TypeElement) declaredType.asElement();
+
+        return hasCodec(element) || element.getQualifiedName().contentEquals("java.util.List") && containsCodec(elementType(declaredType, record));
+    }
+
+    private static TypeMirror elementType(DeclaredType listType, Element component) {
+        if (listType.getTypeArguments().isEmpty()) {
+            throw new UnsupportedTypeException("Lists need a type argument to generate a codec", component);
+        }
+
+        var elementType = listType.getTypeArguments().getFirst();
+
+        if (elementType instanceof WildcardType wildcardType && wildcardType.getExtendsBound() != null) {
+            return wildcardType.getExtendsBound();
+        }
+        return elementType;
+    }
+
+    private static String nullable(String reader, String read) {
+        return reader + ".currentToken() == Token.NULL ? null : " + read;
+    }
+
+    private static boolean hasCodec(TypeElement element) {
+        return element.getKind() == ElementKind.RECORD && element.getAnnotation(JsonCodec.class) != null;
+    }
+
+    private static String javaType(TypeMirror type) {
+        return type.toString();
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "false";
+            case CHAR -> "'\\0'";
+            case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> "0";
+            default -> "null";
+        };
+    }
+
+    private static String local(RecordComponentElement component) {
+        return "_" + component.getSimpleName();
+    }
+
+    private static UnsupportedTypeException unsupported(TypeMirror type, Element component) {
+        return new UnsupportedTypeException("No codec can be generated for components of type " + type
+                + ", records need to be annotated with @JsonCodec as well", component);
+    }
+
+    private static String qualifiedCodecName(TypeElement type) {
+        var packageName = packageName(type);
+
+        return packageName.isEmpty() ? codecName(type) : packageName + "." + codecName(type);
+    }
+
+    /*
+     * The codec of a nested record is named after all enclosing types, like Outer_InnerJsonCodec.
+     */
+    private static String codecName(TypeElement type) {
+        var names = new ArrayList<String>();
+
+        for (Element element = type; element instanceof TypeElement typeElement; element = element.getEnclosingElement()) {
+            names.addFirst(typeElement.getSimpleName().toString());
+        }
+        return String.join("_", names) + "JsonCodec";
+    }
+
+    private static String packageName(TypeElement type) {
+        Element element = type;
+
+        while (!(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return ((PackageElement) element).getQualifiedName().toString();
+    }
+}
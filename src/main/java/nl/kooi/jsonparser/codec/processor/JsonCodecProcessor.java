@@ -0,0 +1,55 @@
+package nl.kooi.jsonparser.codec.processor;
+
+import nl.kooi.jsonparser.codec.JsonCodec;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+/*
+ * Generates a <Record>JsonCodec class for every record annotated with @JsonCodec, see
+ * CodecGenerator. The processor is not registered as a service, so it only runs when it is
+ * enabled explicitly, for example with -processor or the annotationProcessors of the
+ * maven-compiler-plugin.
+ */
+@SupportedAnnotationTypes("nl.kooi.jsonparser.codec.JsonCodec")
+public final class JsonCodecProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        for (var element : roundEnvironment.getElementsAnnotatedWith(JsonCodec.class)) {
+            if (element.getKind() != ElementKind.RECORD) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@JsonCodec can only be used on records", element);
+                continue;
+            }
+
+            var record = (TypeElement) element;
+
+            try {
+                var generator = new CodecGenerator(record);
+                var source = generator.generate();
+
+                try (var writer = processingEnv.getFiler().createSourceFile(generator.qualifiedCodecName(), record).openWriter()) {
+                    writer.write(source);
+                }
+            } catch (UnsupportedTypeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element());
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the codec: " + e.getMessage(), record);
+            }
+        }
+
+        return true;
+    }
+}
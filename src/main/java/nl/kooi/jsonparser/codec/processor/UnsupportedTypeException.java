@@ -0,0 +1,19 @@
+package nl.kooi.jsonparser.codec.processor;
+
+import javax.lang.model.element.Element;
+
+final class UnsupportedTypeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Element element;
+
+    UnsupportedTypeException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    Element element() {
+        return element;
+    }
+}
@@ -0,0 +1,32 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+public final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] values;
+
+    public DoubleList(double[] values) {
+        this.values = values;
+    }
+
+    public double getDouble(int index) {
+        return values[index];
+    }
+
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    public Double get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
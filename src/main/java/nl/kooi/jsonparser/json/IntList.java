@@ -0,0 +1,32 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] values;
+
+    public IntList(int[] values) {
+        this.values = values;
+    }
+
+    public int getInt(int index) {
+        return values[index];
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
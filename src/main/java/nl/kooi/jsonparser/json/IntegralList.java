@@ -0,0 +1,42 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/*
+ * For arrays with both integers and longs, like ids or timestamps of which only some exceed the
+ * int range. All values are stored as longs, the ones that fit an int are returned as Integer,
+ * the way the parser would have returned them on their own.
+ */
+public final class IntegralList extends AbstractList<Number> implements RandomAccess {
+
+    private final long[] values;
+
+    public IntegralList(long[] values) {
+        this.values = values;
+    }
+
+    public long getLong(int index) {
+        return values[index];
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    public Number get(int index) {
+        var value = values[index];
+
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
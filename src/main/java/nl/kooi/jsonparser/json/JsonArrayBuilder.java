@@ -0,0 +1,180 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * Collects the values of a JSON array. As long as all values are of the same numeric type
+ * (Integer, Long or Double), they are stored in a primitive array and the built list is a
+ * primitive backed, read-only view. Integers and longs that are mixed are stored as longs, as
+ * long as the Integers can be told apart from the Longs by their range (see IntegralList). As
+ * soon as another value is added, the values are moved into an ArrayList. The built list is
+ * read-only in every case.
+ */
+public class JsonArrayBuilder {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private enum StorageType {EMPTY, INT, LONG, INTEGRAL, DOUBLE, OBJECT}
+
+    private StorageType storageType = StorageType.EMPTY;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private List<Object> objects;
+    private int size;
+
+    public JsonArrayBuilder add(Object value) {
+        switch (value) {
+            case Integer intValue when storageType != StorageType.DOUBLE && storageType != StorageType.OBJECT -> addInt(intValue);
+            case Long longValue when storageType != StorageType.DOUBLE && storageType != StorageType.OBJECT -> addLong(longValue);
+            case Double doubleValue when storageType == StorageType.DOUBLE || storageType == StorageType.EMPTY -> addDouble(doubleValue);
+            case null, default -> addObject(value);
+        }
+
+        return this;
+    }
+
+    public JsonArrayBuilder addInt(int value) {
+        if (storageType == StorageType.LONG && !moveToIntegralStorage()) {
+            return addObject(value);
+        }
+
+        if (storageType == StorageType.INTEGRAL) {
+            return appendLong(value);
+        }
+
+        if (storageType == StorageType.EMPTY) {
+            storageType = StorageType.INT;
+            ints = new int[INITIAL_CAPACITY];
+        } else if (storageType != StorageType.INT) {
+            return addObject(value);
+        } else if (size == ints.length) {
+            ints = Arrays.copyOf(ints, size * 2);
+        }
+
+        ints[size++] = value;
+        return this;
+    }
+
+    /*
+     * A long that fits an int can't be added to integers, it would be returned as an Integer.
+     */
+    public JsonArrayBuilder addLong(long value) {
+        if (storageType == StorageType.INT || storageType == StorageType.INTEGRAL) {
+            if (fitsInt(value)) {
+                return addObject(value);
+            }
+            moveToIntegralStorage();
+            return appendLong(value);
+        }
+
+        if (storageType == StorageType.EMPTY) {
+            storageType = StorageType.LONG;
+            longs = new long[INITIAL_CAPACITY];
+        } else if (storageType != StorageType.LONG) {
+            return addObject(value);
+        }
+
+        return appendLong(value);
+    }
+
+    public JsonArrayBuilder addDouble(double value) {
+        if (storageType == StorageType.EMPTY) {
+            storageType = StorageType.DOUBLE;
+            doubles = new double[INITIAL_CAPACITY];
+        } else if (storageType != StorageType.DOUBLE) {
+            return addObject(value);
+        } else if (size == doubles.length) {
+            doubles = Arrays.copyOf(doubles, size * 2);
+        }
+
+        doubles[size++] = value;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Object> build() {
+        List<?> array = switch (storageType) {
+            case EMPTY -> Collections.emptyList();
+            case INT -> new IntList(Arrays.copyOf(ints, size));
+            case LONG -> new LongList(Arrays.copyOf(longs, size));
+            case INTEGRAL -> new IntegralList(Arrays.copyOf(longs, size));
+            case DOUBLE -> new DoubleList(Arrays.copyOf(doubles, size));
+            case OBJECT -> Collections.unmodifiableList(objects);
+        };
+
+        return (List<Object>) array;
+    }
+
+    private JsonArrayBuilder appendLong(long value) {
+        if (size == longs.length) {
+            longs = Arrays.copyOf(longs, size * 2);
+        }
+
+        longs[size++] = value;
+        return this;
+    }
+
+    /*
+     * Longs can only be mixed with integers when none of them fits an int.
+     */
+    private boolean moveToIntegralStorage() {
+        if (storageType == StorageType.LONG) {
+            for (var i = 0; i < size; i++) {
+                if (fitsInt(longs[i])) {
+                    return false;
+                }
+            }
+        } else if (storageType == StorageType.INT) {
+            longs = new long[Math.max(INITIAL_CAPACITY, size * 2)];
+
+            for (var i = 0; i < size; i++) {
+                longs[i] = ints[i];
+            }
+            ints = null;
+        }
+
+        storageType = StorageType.INTEGRAL;
+        return true;
+    }
+
+    private static boolean fitsInt(long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    private JsonArrayBuilder addObject(Object value) {
+        if (storageType != StorageType.OBJECT) {
+            moveToObjectStorage();
+        }
+
+        objects.add(value);
+        size++;
+        return this;
+    }
+
+    private void moveToObjectStorage() {
+        objects = new ArrayList<>(Math.max(INITIAL_CAPACITY, size * 2));
+
+        for (var i = 0; i < size; i++) {
+            switch (storageType) {
+                case INT -> objects.add(ints[i]);
+                case LONG -> objects.add(longs[i]);
+                case INTEGRAL -> objects.add(fitsInt(longs[i]) ? (Object) (int) longs[i] : longs[i]);
+                case DOUBLE -> objects.add(doubles[i]);
+                default -> throw new IllegalStateException("Unexpected storage type " + storageType);
+            }
+        }
+
+        storageType = StorageType.OBJECT;
+        ints = null;
+        longs = null;
+        doubles = null;
+    }
+}
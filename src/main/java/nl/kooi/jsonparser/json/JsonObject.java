@@ -1,4 +1,74 @@
 package nl.kooi.jsonparser.json;
 
-public record JsonObject(JsonNode[] jsonNodes) {
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public sealed class JsonObject permits LazyJsonObject {
+
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private final JsonNode[] jsonNodes;
+    private volatile Map<String, JsonNode> index;
+
+    public JsonObject(JsonNode[] jsonNodes) {
+        this.jsonNodes = jsonNodes;
+    }
+
+    public JsonNode[] jsonNodes() {
+        return jsonNodes;
+    }
+
+    public Object get(String identifier) {
+        return findNode(identifier)
+                .map(JsonNode::content)
+                .orElse(null);
+    }
+
+    public Optional<JsonNode> findNode(String identifier) {
+        var nodes = jsonNodes();
+
+        if (nodes == null) {
+            return Optional.empty();
+        }
+
+        if (nodes.length <= LINEAR_SCAN_THRESHOLD) {
+            return Arrays.stream(nodes)
+                    .filter(node -> node.identifier().equals(identifier))
+                    .findFirst();
+        }
+
+        return Optional.ofNullable(getIndex(nodes).get(identifier));
+    }
+
+    private Map<String, JsonNode> getIndex(JsonNode[] nodes) {
+        var currentIndex = index;
+
+        if (currentIndex == null) {
+            currentIndex = HashMap.newHashMap(nodes.length);
+
+            for (var node : nodes) {
+                currentIndex.putIfAbsent(node.identifier(), node);
+            }
+            index = currentIndex;
+        }
+
+        return currentIndex;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof JsonObject jsonObject && Arrays.equals(jsonNodes(), jsonObject.jsonNodes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(jsonNodes());
+    }
+
+    @Override
+    public String toString() {
+        return "JsonObject[jsonNodes=" + Arrays.toString(jsonNodes()) + "]";
+    }
 }
@@ -0,0 +1,32 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.Arrays;
+
+public class JsonObjectBuilder {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private JsonNode[] jsonNodes = new JsonNode[INITIAL_CAPACITY];
+    private int size;
+
+    public JsonObjectBuilder add(JsonNode jsonNode) {
+        if (size == jsonNodes.length) {
+            jsonNodes = Arrays.copyOf(jsonNodes, size * 2);
+        }
+        jsonNodes[size++] = jsonNode;
+
+        return this;
+    }
+
+    public JsonObjectBuilder add(String identifier, Object content) {
+        return add(new JsonNode(identifier, content));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public JsonObject build() {
+        return new JsonObject(size == 0 ? null : Arrays.copyOf(jsonNodes, size));
+    }
+}
@@ -0,0 +1,207 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * A JsonObject on top of the original input and its structural index (the positions of the
+ * quotes, colons, commas, braces and brackets outside of strings). The identifiers and the
+ * positions of the values are found on the first access, by walking the index of this object
+ * only. A value is parsed by the Decoder when it is read for the first time and then kept. Nested
+ * objects are lazy as well, so subtrees that are never read cost nothing more than the index scan.
+ */
+public final class LazyJsonObject extends JsonObject {
+
+    private static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private final byte[] input;
+    private final int[] structurals;
+    private final int openIndex;
+    private final int closeIndex;
+    private final Decoder decoder;
+
+    private String[] identifiers;
+    private int[] valueStarts;
+    private int[] valueEnds;
+    private int[] valueOpenIndexes;
+    private int[] valueCloseIndexes;
+    private JsonNode[] nodes;
+    private Map<String, Integer> fieldIndex;
+    private boolean fullyDecoded;
+
+    /*
+     * Parses the parts of the input that are read, see JsonObjectParser.parseLazy.
+     */
+    public interface Decoder {
+
+        Object value(byte[] input, int offset, int length);
+
+        /*
+         * The identifier between the quote at the offset and the colon at offset + length.
+         */
+        String identifier(byte[] input, int offset, int length);
+    }
+
+    private LazyJsonObject(byte[] input, int[] structurals, int openIndex, int closeIndex, Decoder decoder) {
+        super(null);
+        this.input = input;
+        this.structurals = structurals;
+        this.openIndex = openIndex;
+        this.closeIndex = closeIndex;
+        this.decoder = decoder;
+    }
+
+    /*
+     * The input must be an object of which the opening brace is the first structural.
+     */
+    public static LazyJsonObject of(byte[] input, int[] structurals, Decoder decoder) {
+        return new LazyJsonObject(input, structurals, 0, matchingCloseIndex(structurals, input, 0), decoder);
+    }
+
+    @Override
+    public synchronized JsonNode[] jsonNodes() {
+        readFields();
+
+        if (!fullyDecoded) {
+            for (var field = 0; field < identifiers.length; field++) {
+                node(field);
+            }
+            fullyDecoded = true;
+        }
+
+        return nodes.length == 0 ? null : nodes;
+    }
+
+    @Override
+    public synchronized Optional<JsonNode> findNode(String identifier) {
+        readFields();
+
+        return Optional.ofNullable(fieldOf(identifier))
+                .map(this::node);
+    }
+
+    private Integer fieldOf(String identifier) {
+        if (identifiers.length <= LINEAR_SCAN_THRESHOLD) {
+            for (var field = 0; field < identifiers.length; field++) {
+                if (identifiers[field].equals(identifier)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        if (fieldIndex == null) {
+            fieldIndex = HashMap.newHashMap(identifiers.length);
+
+            for (var field = 0; field < identifiers.length; field++) {
+                fieldIndex.putIfAbsent(identifiers[field], field);
+            }
+        }
+
+        return fieldIndex.get(identifier);
+    }
+
+    private JsonNode node(int field) {
+        if (nodes[field] == null) {
+            nodes[field] = new JsonNode(identifiers[field], decodeValue(field));
+        }
+        return nodes[field];
+    }
+
+    private Object decodeValue(int field) {
+        if (valueOpenIndexes[field] >= 0 && input[valueStarts[field]] == '{') {
+            return new LazyJsonObject(input, structurals, valueOpenIndexes[field], valueCloseIndexes[field], decoder);
+        }
+
+        return decoder.value(input, valueStarts[field], valueEnds[field] - valueStarts[field]);
+    }
+
+    /*
+     * Every field is an opening quote and a colon in the index, followed by the value. A nested
+     * object or array is skipped by jumping to its matching close, a string value has one entry
+     * for its opening quote and a scalar value has none. The value ends at the next comma or at
+     * the closing brace.
+     */
+    private void readFields() {
+        if (identifiers != null) {
+            return;
+        }
+
+        var fieldCount = 0;
+        var fieldIdentifiers = new String[8];
+        var starts = new int[8];
+        var ends = new int[8];
+        var opens = new int[8];
+        var closes = new int[8];
+
+        var index = openIndex + 1;
+        while (index + 1 < closeIndex && input[structurals[index]] == '"') {
+            var colon = structurals[index + 1];
+            var valueStart = skipWhitespace(colon + 1);
+            var valueIndex = index + 2;
+            var open = -1;
+            var close = -1;
+
+            if (structurals[valueIndex] == valueStart && (input[valueStart] == '{' || input[valueStart] == '[')) {
+                open = valueIndex;
+                close = matchingCloseIndex(structurals, input, valueIndex);
+                valueIndex = close + 1;
+            } else if (structurals[valueIndex] == valueStart) {
+                valueIndex++;
+            }
+
+            if (fieldCount == fieldIdentifiers.length) {
+                var newLength = fieldCount * 2;
+                fieldIdentifiers = Arrays.copyOf(fieldIdentifiers, newLength);
+                starts = Arrays.copyOf(starts, newLength);
+                ends = Arrays.copyOf(ends, newLength);
+                opens = Arrays.copyOf(opens, newLength);
+                closes = Arrays.copyOf(closes, newLength);
+            }
+
+            fieldIdentifiers[fieldCount] = decoder.identifier(input, structurals[index], colon - structurals[index]);
+            starts[fieldCount] = valueStart;
+            ends[fieldCount] = open >= 0 ? structurals[close] + 1 : structurals[valueIndex];
+            opens[fieldCount] = open;
+            closes[fieldCount] = close;
+            fieldCount++;
+
+            index = input[structurals[valueIndex]] == ',' ? valueIndex + 1 : valueIndex;
+        }
+
+        identifiers = Arrays.copyOf(fieldIdentifiers, fieldCount);
+        valueStarts = starts;
+        valueEnds = ends;
+        valueOpenIndexes = opens;
+        valueCloseIndexes = closes;
+        nodes = new JsonNode[fieldCount];
+    }
+
+    private int skipWhitespace(int position) {
+        while (position < input.length && (input[position] == ' ' || input[position] == '\n' || input[position] == '\r' || input[position] == '\t')) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int matchingCloseIndex(int[] structurals, byte[] input, int openIndex) {
+        var depth = 0;
+
+        for (var index = openIndex; index < structurals.length; index++) {
+            switch (input[structurals[index]]) {
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (--depth == 0) {
+                        return index;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        return structurals.length - 1;
+    }
+}
@@ -0,0 +1,32 @@
+package nl.kooi.jsonparser.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+public final class LongList extends AbstractList<Long> implements RandomAccess {
+
+    private final long[] values;
+
+    public LongList(long[] values) {
+        this.values = values;
+    }
+
+    public long getLong(int index) {
+        return values[index];
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,34 @@
+package nl.kooi.jsonparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("nl.kooi.jsonparser.Parse")
+@Label("JSON Parse")
+@Category("JSON Parser")
+@Description("A document parsed by one of the entry points of the parser")
+final class ParseEvent extends Event {
+
+    @Label("Entry Point")
+    String entryPoint;
+
+    @Label("Input Size")
+    @Description("Bytes or characters of input, -1 when the size is not known up front")
+    @DataAmount
+    long inputSize;
+
+    @Label("Elements")
+    @Description("Values, objects and arrays in the document, -1 when the entry point doesn't count them")
+    long elementCount;
+
+    @Label("Max Depth")
+    @Description("Deepest nesting of objects and arrays, -1 when the entry point doesn't count it")
+    int maxDepth;
+
+    @Label("Failure")
+    String failure;
+}
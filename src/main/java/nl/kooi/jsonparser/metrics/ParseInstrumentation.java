@@ -0,0 +1,130 @@
+package nl.kooi.jsonparser.metrics;
+
+import nl.kooi.jsonparser.parser.JsonVisitor;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/*
+ * The switch for the instrumentation of the parser. Every entry point of the parser asks
+ * observed() first, and only runs through one of the observe methods when it returns true. When no
+ * JFR recording has the nl.kooi.jsonparser.Parse event enabled and no ParseListener is set, the
+ * parse runs exactly as it would without instrumentation: no event, observation or lambda is
+ * allocated. The check reads the listener and the enabled flag of one shared event, which is
+ * never committed.
+ *
+ * Entry points that parse with a JsonVisitor have their elements and depth counted on the way to
+ * the visitor. The others have their result counted after the parse, which only happens when the
+ * parse is observed. The input size is -1 when it is not known up front, like for streams.
+ *
+ * The entry points name their input, like byte[], Path or byte[] (lazy), and the observation
+ * adds the kind of document that was parsed, so the listener and JFR see object/byte[].
+ */
+public final class ParseInstrumentation {
+
+    private static final ParseEvent ENABLED_CHECK = new ParseEvent();
+
+    private static volatile ParseListener listener;
+
+    private ParseInstrumentation() {
+    }
+
+    public static void setListener(ParseListener parseListener) {
+        listener = parseListener;
+    }
+
+    public static void removeListener() {
+        listener = null;
+    }
+
+    public static boolean observed() {
+        return listener != null || ENABLED_CHECK.isEnabled();
+    }
+
+    public static void observe(String input, long inputSize, JsonVisitor visitor, Consumer<JsonVisitor> parser) {
+        var observation = start(null, input, inputSize);
+
+        if (observation == null) {
+            parser.accept(visitor);
+            return;
+        }
+
+        try {
+            parser.accept(observation.counting(visitor));
+        } catch (RuntimeException | Error e) {
+            observation.failed(e);
+            throw e;
+        }
+        observation.finished();
+    }
+
+    /*
+     * The result (a JsonObject, a List or a single value) is counted as one document.
+     */
+    public static <T> T observe(String input, long inputSize, Supplier<T> parser) {
+        return observe(null, input, inputSize, parser, ParseObservation::countDocument);
+    }
+
+    /*
+     * Every element of the result is counted as a document of its own, like the lines of NDJSON.
+     * Their kind is reported as lines.
+     */
+    public static <T extends Collection<?>> T observeDocuments(String input, long inputSize, Supplier<T> parser) {
+        return observe("lines", input, inputSize, parser, (observation, documents) -> documents.forEach(observation::countDocument));
+    }
+
+    /*
+     * For results that are parsed later on, like lazy objects, which would be parsed by counting
+     * them. Their elements and depth are reported as -1.
+     */
+    public static <T> T observeUncounted(String input, long inputSize, Supplier<T> parser) {
+        return observe(null, input, inputSize, parser, ParseObservation::kindOf);
+    }
+
+    /*
+     * Reports a parse that is part of another parse, like a line of NDJSON or a value of a lazy
+     * object. These are not observed on their own, they are only counted by the listener.
+     */
+    public static void nestedParse(long inputSize) {
+        var currentListener = listener;
+
+        if (currentListener != null) {
+            currentListener.nestedParse(inputSize);
+        }
+    }
+
+    private static <T> T observe(String kind, String input, long inputSize, Supplier<T> parser, BiConsumer<ParseObservation, T> counter) {
+        var observation = start(kind, input, inputSize);
+
+        if (observation == null) {
+            return parser.get();
+        }
+
+        try {
+            var result = parser.get();
+            observation.end();
+            counter.accept(observation, result);
+            observation.finished();
+
+            return result;
+        } catch (RuntimeException | Error e) {
+            observation.failed(e);
+            throw e;
+        }
+    }
+
+    /*
+     * Returns null when nobody is interested in the parse (anymore).
+     */
+    private static ParseObservation start(String kind, String input, long inputSize) {
+        var currentListener = listener;
+
+        if (currentListener == null && !ENABLED_CHECK.isEnabled()) {
+            return null;
+        }
+
+        return new ParseObservation(kind, input, inputSize, new ParseEvent(), currentListener);
+    }
+}
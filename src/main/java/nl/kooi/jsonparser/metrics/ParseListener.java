@@ -0,0 +1,21 @@
+package nl.kooi.jsonparser.metrics;
+
+/*
+ * Receives the outcome of every observed parse, see ParseInstrumentation. The listener is
+ * called on the thread that parsed, so it must be thread safe and should be quick. The values
+ * are passed as primitives, so calling a listener doesn't allocate. The entry point is the kind
+ * of document and the input, like object/byte[], array/Path (parallel) or lines/String for NDJSON.
+ */
+public interface ParseListener {
+
+    void parsed(String entryPoint, long inputSize, long elementCount, int maxDepth, long durationNanos);
+
+    void failed(String entryPoint, long inputSize, Throwable failure, long durationNanos);
+
+    /*
+     * Called for every parse that is part of another parse, like a line of NDJSON, a value of a
+     * lazy object, a selected value or a group of elements of a parallel array.
+     */
+    default void nestedParse(long inputSize) {
+    }
+}
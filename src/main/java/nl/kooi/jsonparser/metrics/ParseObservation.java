@@ -0,0 +1,272 @@
+package nl.kooi.jsonparser.metrics;
+
+import nl.kooi.jsonparser.json.DoubleList;
+import nl.kooi.jsonparser.json.IntList;
+import nl.kooi.jsonparser.json.IntegralList;
+import nl.kooi.jsonparser.json.JsonNode;
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.LongList;
+import nl.kooi.jsonparser.parser.JsonVisitor;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Measures a single parse and reports it to JFR and the ParseListener when it is finished or
+ * failed. Entry points that parse with a JsonVisitor pass it through counting(), which counts
+ * the elements and the nesting depth on its way to the visitor. The results of the other entry
+ * points are walked by countDocument(). Without either, both are reported as -1.
+ *
+ * The entry point is reported as kind/input, like object/byte[] or array/Path (parallel). The
+ * kind is what the document turned out to be: object, array or value, taken from the first value
+ * that is visited or from the result. It is unknown when the parse failed before that.
+ */
+final class ParseObservation {
+
+    private final String input;
+    private final long inputSize;
+    private final ParseEvent event;
+    private final ParseListener listener;
+    private final long startNanos;
+    private long endNanos;
+    private String kind;
+
+    private long elementCount = -1;
+    private int depth;
+    private int maxDepth = -1;
+
+    ParseObservation(String kind, String input, long inputSize, ParseEvent event, ParseListener listener) {
+        this.kind = kind;
+        this.input = input;
+        this.inputSize = inputSize;
+        this.event = event;
+        this.listener = listener;
+        this.startNanos = System.nanoTime();
+        event.begin();
+    }
+
+    JsonVisitor counting(JsonVisitor visitor) {
+        elementCount = 0;
+        maxDepth = 0;
+
+        return new CountingVisitor(visitor);
+    }
+
+    /*
+     * Counts the elements and depth of a parsed document the way the CountingVisitor would have.
+     * The document is walked with a stack of its own, so deep documents can't overflow the stack.
+     */
+    void countDocument(Object document) {
+        kindOf(document);
+
+        if (elementCount < 0) {
+            elementCount = 0;
+            maxDepth = 0;
+        }
+
+        var values = new Object[16];
+        var depths = new int[16];
+        var size = 0;
+        values[size++] = document;
+
+        while (size > 0) {
+            var value = values[--size];
+            var valueDepth = depths[size];
+            values[size] = null;
+            elementCount++;
+
+            if (value instanceof IntList || value instanceof LongList || value instanceof IntegralList || value instanceof DoubleList) {
+                maxDepth = Math.max(maxDepth, valueDepth + 1);
+                elementCount += ((List<?>) value).size();
+                continue;
+            }
+
+            var children = switch (value) {
+                case JsonObject object when object.jsonNodes() != null -> Arrays.stream(object.jsonNodes()).map(JsonNode::content).toList();
+                case JsonObject object -> List.of();
+                case List<?> list -> list;
+                case null, default -> null;
+            };
+
+            if (children == null) {
+                continue;
+            }
+
+            maxDepth = Math.max(maxDepth, valueDepth + 1);
+
+            if (size + children.size() > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + children.size()));
+                depths = Arrays.copyOf(depths, values.length);
+            }
+
+            for (var child : children) {
+                depths[size] = valueDepth + 1;
+                values[size++] = child;
+            }
+        }
+    }
+
+    void kindOf(Object document) {
+        if (kind == null) {
+            kind = switch (document) {
+                case JsonObject object -> "object";
+                case List<?> list -> "array";
+                case null, default -> "value";
+            };
+        }
+    }
+
+    private String entryPoint() {
+        return (kind == null ? "unknown" : kind) + "/" + input;
+    }
+
+    /*
+     * Ends the measurement, before the result is counted, so the duration is that of the parse
+     * alone. Called by finished() and failed() when it wasn't called yet.
+     */
+    void end() {
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+            event.end();
+        }
+    }
+
+    void finished() {
+        end();
+        var durationNanos = endNanos - startNanos;
+
+        if (event.shouldCommit()) {
+            commit(null);
+        }
+
+        if (listener != null) {
+            listener.parsed(entryPoint(), inputSize, elementCount, maxDepth, durationNanos);
+        }
+    }
+
+    void failed(Throwable failure) {
+        end();
+        var durationNanos = endNanos - startNanos;
+
+        if (event.shouldCommit()) {
+            commit(failure.toString());
+        }
+
+        if (listener != null) {
+            listener.failed(entryPoint(), inputSize, failure, durationNanos);
+        }
+    }
+
+    private void commit(String failure) {
+        event.entryPoint = entryPoint();
+        event.inputSize = inputSize;
+        event.elementCount = elementCount;
+        event.maxDepth = maxDepth;
+        event.failure = failure;
+        event.commit();
+    }
+
+    private final class CountingVisitor implements JsonVisitor {
+
+        private final JsonVisitor visitor;
+
+        private CountingVisitor(JsonVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public boolean canonicalIdentifiers() {
+            return visitor.canonicalIdentifiers();
+        }
+
+        @Override
+        public void startObject() {
+            visitRoot("object");
+            openContainer();
+            visitor.startObject();
+        }
+
+        @Override
+        public void field(CharSequence identifier) {
+            visitor.field(identifier);
+        }
+
+        @Override
+        public void endObject() {
+            depth--;
+            visitor.endObject();
+        }
+
+        @Override
+        public void startArray() {
+            visitRoot("array");
+            openContainer();
+            visitor.startArray();
+        }
+
+        @Override
+        public void endArray() {
+            depth--;
+            visitor.endArray();
+        }
+
+        @Override
+        public void value(CharSequence text) {
+            countValue();
+            visitor.value(text);
+        }
+
+        @Override
+        public void value(int number) {
+            countValue();
+            visitor.value(number);
+        }
+
+        @Override
+        public void value(long number) {
+            countValue();
+            visitor.value(number);
+        }
+
+        @Override
+        public void value(double number) {
+            countValue();
+            visitor.value(number);
+        }
+
+        @Override
+        public void value(BigDecimal number) {
+            countValue();
+            visitor.value(number);
+        }
+
+        @Override
+        public void value(boolean bool) {
+            countValue();
+            visitor.value(bool);
+        }
+
+        @Override
+        public void nullValue() {
+            countValue();
+            visitor.nullValue();
+        }
+
+        private void visitRoot(String rootKind) {
+            if (kind == null) {
+                kind = rootKind;
+            }
+        }
+
+        private void countValue() {
+            visitRoot("value");
+            elementCount++;
+        }
+
+        private void openContainer() {
+            elementCount++;
+            maxDepth = Math.max(maxDepth, ++depth);
+        }
+    }
+}
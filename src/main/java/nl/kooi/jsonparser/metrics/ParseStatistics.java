@@ -0,0 +1,145 @@
+package nl.kooi.jsonparser.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * A ParseListener that keeps counters and histograms of all parses. Latencies are kept in
+ * buckets of powers of two nanoseconds, so a percentile is known up to a factor of two. Depths
+ * are kept per level, up to MAX_TRACKED_DEPTH; deeper documents share the last bucket.
+ */
+public final class ParseStatistics implements ParseListener {
+
+    public static final int MAX_TRACKED_DEPTH = 64;
+
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder inputSize = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder nestedParses = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(Long.SIZE);
+    private final AtomicLongArray depthBuckets = new AtomicLongArray(MAX_TRACKED_DEPTH + 1);
+
+    @Override
+    public void parsed(String entryPoint, long inputSize, long elementCount, int maxDepth, long durationNanos) {
+        documents.increment();
+        recordLatency(durationNanos);
+
+        if (inputSize > 0) {
+            this.inputSize.add(inputSize);
+        }
+
+        if (elementCount > 0) {
+            elements.add(elementCount);
+        }
+
+        if (maxDepth >= 0) {
+            this.maxDepth.accumulate(maxDepth);
+            depthBuckets.incrementAndGet(Math.min(maxDepth, MAX_TRACKED_DEPTH));
+        }
+    }
+
+    @Override
+    public void failed(String entryPoint, long inputSize, Throwable failure, long durationNanos) {
+        failures.increment();
+        recordLatency(durationNanos);
+    }
+
+    @Override
+    public void nestedParse(long inputSize) {
+        nestedParses.increment();
+    }
+
+    public long documents() {
+        return documents.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    /* The bytes or characters of all documents of which the size was known up front. */
+    public long inputSize() {
+        return inputSize.sum();
+    }
+
+    public long elements() {
+        return elements.sum();
+    }
+
+    /* The parses that were part of another parse, see ParseListener.nestedParse. */
+    public long nestedParses() {
+        return nestedParses.sum();
+    }
+
+    public int maxDepth() {
+        return maxDepth.intValue();
+    }
+
+    /* The number of parses per bucket, bucket i holds the parses that took [2^i, 2^(i+1)) ns. */
+    public long[] latencyHistogram() {
+        return toArray(latencyBuckets);
+    }
+
+    /* The number of documents per maximum depth. */
+    public long[] depthHistogram() {
+        return toArray(depthBuckets);
+    }
+
+    /*
+     * The upper bound of the bucket that holds the given percentile (between 0 and 100) of all
+     * parses, or Duration.ZERO when nothing was parsed yet.
+     */
+    public Duration latencyPercentile(double percentile) {
+        var histogram = latencyHistogram();
+        var total = 0L;
+
+        for (var count : histogram) {
+            total += count;
+        }
+
+        var threshold = Math.ceil(total * percentile / 100);
+        var seen = 0L;
+
+        for (var bucket = 0; bucket < histogram.length && total > 0; bucket++) {
+            seen += histogram[bucket];
+
+            if (seen >= threshold && histogram[bucket] > 0) {
+                return Duration.ofNanos(bucket >= Long.SIZE - 2 ? Long.MAX_VALUE : 1L << (bucket + 1));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    public void reset() {
+        documents.reset();
+        failures.reset();
+        inputSize.reset();
+        elements.reset();
+        nestedParses.reset();
+        maxDepth.reset();
+
+        for (var bucket = 0; bucket < latencyBuckets.length(); bucket++) {
+            latencyBuckets.set(bucket, 0);
+        }
+        for (var bucket = 0; bucket < depthBuckets.length(); bucket++) {
+            depthBuckets.set(bucket, 0);
+        }
+    }
+
+    private void recordLatency(long durationNanos) {
+        latencyBuckets.incrementAndGet(Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(durationNanos, 1)));
+    }
+
+    private static long[] toArray(AtomicLongArray buckets) {
+        var counts = new long[buckets.length()];
+
+        for (var bucket = 0; bucket < counts.length; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,173 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/*
+ * Parses documents on virtual threads, every document is a task of its own. At most
+ * 'concurrency' documents are parsed at the same time, each with one of a fixed set of
+ * MutableWriterStates, so the parse buffers are reused no matter how many documents are
+ * submitted. Files and streams are read before a state is taken, so reading the next documents
+ * overlaps with parsing the current ones, and a slow stream never keeps a state from the other
+ * parses. A file or stream holds one of 2 * 'concurrency' read ahead permits from before it is
+ * read until it is parsed, so no more documents than that are in memory at the same time. A
+ * virtual thread that waits for its stream leaves the carrier to others.
+ */
+public final class AsyncJsonParser implements AutoCloseable {
+
+    public static final int DEFAULT_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BlockingQueue<MutableWriterState> states;
+    private final Semaphore readAhead;
+
+    public AsyncJsonParser() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    public AsyncJsonParser(int concurrency) {
+        this(concurrency, NumberPolicy.INTEGRAL_OR_DOUBLE);
+    }
+
+    public AsyncJsonParser(int concurrency, NumberPolicy numberPolicy) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+        }
+
+        this.states = new ArrayBlockingQueue<>(concurrency);
+        this.readAhead = new Semaphore(2 * concurrency);
+
+        for (var i = 0; i < concurrency; i++) {
+            states.add(new MutableWriterState(numberPolicy));
+        }
+    }
+
+    public CompletableFuture<JsonObject> parseAsync(String objectString) {
+        return submit(() -> withState(state -> JsonObjectParser.parse(objectString, state)));
+    }
+
+    public CompletableFuture<JsonObject> parseAsync(byte[] objectBytes) {
+        return submit(() -> parseBytes(objectBytes));
+    }
+
+    public CompletableFuture<JsonObject> parseAsync(Path objectFile) {
+        return submit(() -> parseFile(objectFile));
+    }
+
+    /*
+     * The stream is read to its end before it is parsed, it is not closed by the parser.
+     */
+    public CompletableFuture<JsonObject> parseAsync(InputStream objectStream) {
+        return submit(() -> parseStream(objectStream));
+    }
+
+    public <R extends Record> CompletableFuture<R> parseAsync(byte[] objectBytes, Class<R> type) {
+        return submit(() -> withState(state -> JsonObjectParser.parse(objectBytes, 0, objectBytes.length, state, type)));
+    }
+
+    /*
+     * Parses every document (a String, byte[], Path or InputStream) in a task of its own. The objects are
+     * returned in the order of the documents, the future fails when one of the documents fails.
+     */
+    public CompletableFuture<List<JsonObject>> parseAllAsync(Collection<?> documents) {
+        var futures = new ArrayList<CompletableFuture<JsonObject>>(documents.size());
+
+        for (var document : documents) {
+            futures.add(switch (document) {
+                case String objectString -> parseAsync(objectString);
+                case byte[] objectBytes -> parseAsync(objectBytes);
+                case Path objectFile -> parseAsync(objectFile);
+                case InputStream objectStream -> parseAsync(objectStream);
+                case null, default -> CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Can't parse a document of type " + (document == null ? null : document.getClass().getName())));
+            });
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /*
+     * Waits for the submitted documents to be parsed, after which no more documents are accepted.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> parser) {
+        return CompletableFuture.supplyAsync(parser, executor);
+    }
+
+    private JsonObject parseBytes(byte[] objectBytes) {
+        return withState(state -> JsonObjectParser.parse(objectBytes, 0, objectBytes.length, state));
+    }
+
+    private JsonObject parseFile(Path file) {
+        return readAhead(() -> Files.readAllBytes(file));
+    }
+
+    private JsonObject parseStream(InputStream stream) {
+        return readAhead(stream::readAllBytes);
+    }
+
+    private JsonObject readAhead(DocumentReader reader) {
+        acquire(readAhead);
+
+        try {
+            return parseBytes(reader.read());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            readAhead.release();
+        }
+    }
+
+    private <T> T withState(Function<MutableWriterState, T> parser) {
+        MutableWriterState state;
+
+        try {
+            state = states.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+
+        try {
+            return parser.apply(state);
+        } finally {
+            states.add(state);
+        }
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private interface DocumentReader {
+        byte[] read() throws IOException;
+    }
+}
@@ -0,0 +1,27 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.ArrayWriterState;
+import nl.kooi.jsonparser.parser.state.JsonWriterState;
+import nl.kooi.jsonparser.parser.state.ObjectWriterState;
+
+class ContainerParser {
+
+    /*
+     * Every nested object or array gets its own writer state, linked to the state of the
+     * enclosing container through parent(). That chain is the container stack: a nested
+     * state hands its result back to its parent when it is closed, so each character of
+     * the input is processed exactly once regardless of the nesting depth.
+     */
+    static JsonWriterState parse(char[] input, JsonWriterState initialState) {
+        var state = initialState;
+
+        while (state.characterCounter() != input.length) {
+            state = switch (state) {
+                case ObjectWriterState objectWriterState -> JsonObjectParser.processCharacter(input, objectWriterState);
+                case ArrayWriterState arrayWriterState -> JsonArrayParser.processCharacter(input, arrayWriterState);
+            };
+        }
+
+        return state;
+    }
+}
@@ -2,53 +2,141 @@ package nl.kooi.jsonparser.parser;
 
 
 import io.github.lvdkooi.Conditional;
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
 import nl.kooi.jsonparser.parser.command.TokenCommand;
 import nl.kooi.jsonparser.parser.state.ArrayWriterState;
+import nl.kooi.jsonparser.parser.state.JsonWriterState;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.parser.state.ObjectWriterState;
 import nl.kooi.jsonparser.parser.state.Token;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 
 import static io.github.lvdkooi.Conditional.applyIf;
-import static nl.kooi.jsonparser.parser.state.Token.TEXT;
+import static nl.kooi.jsonparser.parser.state.Token.*;
 import static nl.kooi.jsonparser.parser.state.WriterStatus.*;
 import static nl.kooi.jsonparser.parser.util.ParserUtil.*;
 
 public class JsonArrayParser {
 
     public static List<Object> parse(String arrayString) {
+        return parse(arrayString, NumberPolicy.INTEGRAL_OR_DOUBLE);
+    }
+
+    public static List<Object> parse(String arrayString, NumberPolicy numberPolicy) {
+        return parse(arrayString, new MutableWriterState(numberPolicy));
+    }
 
-        var finalState = new ArrayWriterState();
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(String arrayString, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayString, state);
+    }
+
+    public static List<Object> parse(byte[] arrayBytes) {
+        return parse(arrayBytes, 0, arrayBytes.length);
+    }
 
-        while (finalState.characterCounter() != arrayString.length()) {
-            finalState = createTokenCommand(arrayString, finalState)
-                    .map(JsonArrayParser::handleToken)
-                    .orElse(finalState)
-                    .incrementCharacterCounter();
-        }
+    public static List<Object> parse(byte[] arrayBytes, int offset, int length) {
+        return parse(arrayBytes, offset, length, new MutableWriterState());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(byte[] arrayBytes, int offset, int length, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayBytes, offset, length, state);
+    }
+
+    public static List<Object> parse(ByteBuffer arrayBuffer) {
+        return parse(arrayBuffer, new MutableWriterState());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(ByteBuffer arrayBuffer, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayBuffer, state);
+    }
+
+    /*
+     * Parses the elements of a large top level array on all cores, see ParallelArrayParser.
+     */
+    public static List<Object> parseParallel(byte[] arrayBytes) {
+        return ParallelArrayParser.parse(arrayBytes);
+    }
+
+    public static List<Object> parseParallel(Path arrayFile) {
+        return ParallelArrayParser.parse(arrayFile);
+    }
+
+    /*
+     * Only parses the values that are selected by the given paths, see PathProjector.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(byte[] arrayBytes, Collection<String> paths) {
+        return (List<Object>) PathProjector.project(arrayBytes, paths);
+    }
+
+    public static List<Object> parse(String arrayString, Collection<String> paths) {
+        return parse(arrayString.getBytes(StandardCharsets.UTF_8), paths);
+    }
 
-        return finalState.array();
+    public static List<Object> parse(InputStream arrayStream) {
+        return parse(arrayStream, new MutableWriterState());
     }
 
-    private static ArrayWriterState handleToken(TokenCommand<ArrayWriterState> tokenCommand) {
-        UnaryOperator<ArrayWriterState> handler = switch (tokenCommand.token()) {
-            case BRACE_OPEN -> state -> JsonArrayParser.handleOpenBrace(state, tokenCommand);
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(InputStream arrayStream, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayStream, state);
+    }
+
+    public static List<Object> parse(Reader arrayReader) {
+        return parse(arrayReader, new MutableWriterState());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(Reader arrayReader, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayReader, state);
+    }
+
+    public static List<Object> parse(Path arrayFile) {
+        return parse(arrayFile, new MutableWriterState());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> parse(Path arrayFile, MutableWriterState state) {
+        return (List<Object>) MutableStateParser.parse(arrayFile, state);
+    }
+
+    static JsonWriterState processCharacter(char[] input, ArrayWriterState state) {
+        return createTokenCommand(input, state)
+                .map(JsonArrayParser::handleToken)
+                .orElse(state)
+                .incrementCharacterCounter();
+    }
+
+    private static JsonWriterState handleToken(TokenCommand<ArrayWriterState> tokenCommand) {
+        Function<ArrayWriterState, JsonWriterState> handler = switch (tokenCommand.token()) {
+            case BRACE_OPEN -> JsonArrayParser::handleNestedObject;
             case D_QUOTE -> JsonArrayParser::handleDoubleQuote;
             case COMMA -> JsonArrayParser::handleComma;
             case TEXT, BOOLEAN, NUMBER, NULL -> state -> writeCharacterToState(tokenCommand.state(), tokenCommand);
-            case SQ_BRACKET_OPEN -> state -> handleOpenSquareBracket(state, tokenCommand);
+            case SQ_BRACKET_OPEN -> JsonArrayParser::handleOpenSquareBracket;
             case SQ_BRACKET_CLOSED -> JsonArrayParser::handleClosedSquareBracket;
-            default -> UnaryOperator.identity();
+            default -> state -> state;
         };
 
         return handleToken(tokenCommand.token(), tokenCommand.state(), handler);
     }
 
-    private static ArrayWriterState handleToken(Token token, ArrayWriterState state, UnaryOperator<ArrayWriterState> ArrayWriterStateFunction) {
+    private static JsonWriterState handleToken(Token token, ArrayWriterState state, Function<ArrayWriterState, JsonWriterState> ArrayWriterStateFunction) {
         return state
                 .getLastToken()
                 .filter(tok -> token == tok)
@@ -85,56 +173,44 @@ public class JsonArrayParser {
 
     }
 
-    private static ArrayWriterState handleOpenBrace(ArrayWriterState state, TokenCommand<ArrayWriterState> tokenCommand) {
-        return handleNestedObject(state, tokenCommand.stillToBeProcessed());
-    }
-
-    private static ArrayWriterState handleNestedObject(ArrayWriterState state, char[] stillToBeProcessed) {
-        var nestedObjectString = getNestedObjectString(stillToBeProcessed);
-
-        var updatedState = state.incrementCharacterCounterBy(nestedObjectString.length() - 1);
-        return updatedState.writeObjectToValueField(JsonObjectParser.parse(nestedObjectString));
+    private static ObjectWriterState handleNestedObject(ArrayWriterState state) {
+        return new ObjectWriterState(state).addToken(BRACE_OPEN).addInitialMainObject();
     }
 
-    private static ArrayWriterState handleOpenSquareBracket(ArrayWriterState state, TokenCommand<ArrayWriterState> command) {
+    private static ArrayWriterState handleOpenSquareBracket(ArrayWriterState state) {
         return Conditional.of(state)
                 .firstMatching(
                         applyIf(hasNotStartedHandlingAnArray(), ArrayWriterState::addInitialArray),
                         applyIf(Objects::isNull, Function.identity())
                 )
-                .orElseGet(() -> handleNestedArray(state, command.stillToBeProcessed()));
+                .orElseGet(() -> handleNestedArray(state));
     }
 
     private static Predicate<ArrayWriterState> hasNotStartedHandlingAnArray() {
         return state -> Objects.isNull(state.array()) && hasStatusNotIn(state::valueFieldStatus, WRITING, FINISHED);
     }
 
-    private static ArrayWriterState handleNestedArray(ArrayWriterState state, char[] stillToBeProcessed) {
-        var arrayString = getNestedArrayString(stillToBeProcessed);
-
-        var array = JsonArrayParser.parse(arrayString);
-
-        var updatedState = state.incrementCharacterCounterBy(arrayString.length() - 1);
-
-        return updatedState.addArrayToArray(array);
+    private static ArrayWriterState handleNestedArray(ArrayWriterState state) {
+        return new ArrayWriterState(state).addToken(SQ_BRACKET_OPEN).addInitialArray();
     }
 
-    private static ArrayWriterState handleClosedSquareBracket(ArrayWriterState state) {
-        return finishValueField(state);
+    private static JsonWriterState handleClosedSquareBracket(ArrayWriterState state) {
+        var updatedState = finishValueField(state);
+
+        return Objects.isNull(updatedState.parent()) ?
+                updatedState :
+                resumeParent(updatedState).writeArrayToValueField(updatedState.array().build());
     }
 
     private static ArrayWriterState finishValueField(ArrayWriterState state) {
         return hasWritingStatus(state::valueFieldStatus) ? state.moveValueFieldToFinishState() : state;
     }
 
-    private static Optional<TokenCommand<ArrayWriterState>> createTokenCommand(String arrayString, ArrayWriterState state) {
-        var stillToBeProcessed = arrayString.substring(state.characterCounter()).toCharArray();
-        var character = arrayString.charAt(state.characterCounter());
-
-        var tokenCommand = new TokenCommand<ArrayWriterState>(stillToBeProcessed, character);
+    private static Optional<TokenCommand<ArrayWriterState>> createTokenCommand(char[] input, ArrayWriterState state) {
+        var tokenCommand = new TokenCommand<ArrayWriterState>(input, state.characterCounter());
 
         return getOptionalTokenCommand(state, tokenCommand)
                 .orElseGet(
-                        () -> findToken(character).map(token -> new TokenCommand<>(stillToBeProcessed, token, character, state)));
+                        () -> findToken(tokenCommand.character()).map(token -> tokenCommand.forToken(token, state)));
     }
 }
@@ -3,54 +3,163 @@ package nl.kooi.jsonparser.parser;
 
 import io.github.lvdkooi.Conditional;
 import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.JsonObjectBuilder;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
 import nl.kooi.jsonparser.parser.command.TokenCommand;
+import nl.kooi.jsonparser.parser.state.ArrayWriterState;
+import nl.kooi.jsonparser.parser.state.JsonWriterState;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
 import nl.kooi.jsonparser.parser.state.ObjectWriterState;
 import nl.kooi.jsonparser.parser.state.Token;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 
 import static io.github.lvdkooi.Conditional.applyIf;
 import static nl.kooi.jsonparser.parser.state.FieldType.ARRAY;
-import static nl.kooi.jsonparser.parser.state.Token.TEXT;
+import static nl.kooi.jsonparser.parser.state.Token.*;
 import static nl.kooi.jsonparser.parser.state.WriterStatus.*;
 import static nl.kooi.jsonparser.parser.util.ParserUtil.*;
 
 public class JsonObjectParser {
 
     public static JsonObject parse(String objectString) {
+        return parse(objectString, NumberPolicy.INTEGRAL_OR_DOUBLE);
+    }
+
+    public static JsonObject parse(String objectString, NumberPolicy numberPolicy) {
+        return parse(objectString, new MutableWriterState(numberPolicy));
+    }
+
+    public static JsonObject parse(String objectString, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectString, state);
+    }
+
+    public static JsonObject parse(byte[] objectBytes) {
+        return parse(objectBytes, 0, objectBytes.length);
+    }
+
+    public static JsonObject parse(byte[] objectBytes, int offset, int length) {
+        return parse(objectBytes, offset, length, new MutableWriterState());
+    }
+
+    public static JsonObject parse(byte[] objectBytes, int offset, int length, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectBytes, offset, length, state);
+    }
+
+    public static JsonObject parse(ByteBuffer objectBuffer) {
+        return parse(objectBuffer, new MutableWriterState());
+    }
+
+    public static JsonObject parse(ByteBuffer objectBuffer, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectBuffer, state);
+    }
+
+    /*
+     * Returns an object of which the values are only parsed when they are read, see LazyObjectDecoder.
+     */
+    public static JsonObject parseLazy(byte[] objectBytes) {
+        return LazyObjectDecoder.of(objectBytes);
+    }
+
+    /*
+     * Only parses the values that are selected by the given paths, see PathProjector.
+     */
+    public static JsonObject parse(byte[] objectBytes, Collection<String> paths) {
+        return (JsonObject) PathProjector.project(objectBytes, paths);
+    }
+
+    public static JsonObject parse(String objectString, Collection<String> paths) {
+        return parse(objectString.getBytes(StandardCharsets.UTF_8), paths);
+    }
+
+    public static JsonObject parse(InputStream objectStream) {
+        return parse(objectStream, new MutableWriterState());
+    }
+
+    public static JsonObject parse(InputStream objectStream, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectStream, state);
+    }
+
+    public static JsonObject parse(Reader objectReader) {
+        return parse(objectReader, new MutableWriterState());
+    }
+
+    public static JsonObject parse(Reader objectReader, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectReader, state);
+    }
+
+    public static JsonObject parse(Path objectFile) {
+        return parse(objectFile, new MutableWriterState());
+    }
+
+    public static JsonObject parse(Path objectFile, MutableWriterState state) {
+        return (JsonObject) MutableStateParser.parse(objectFile, state);
+    }
+
+    /*
+     * Binds the object straight into a record of the given type, see RecordBindingVisitor.
+     */
+    public static <R extends Record> R parse(String objectString, Class<R> type) {
+        return parse(objectString, new MutableWriterState(), type);
+    }
+
+    public static <R extends Record> R parse(String objectString, MutableWriterState state, Class<R> type) {
+        var visitor = new RecordBindingVisitor<>(type);
+        MutableStateParser.parse(objectString, state, visitor);
 
-        var finalState = new ObjectWriterState();
+        return visitor.result();
+    }
+
+    public static <R extends Record> R parse(byte[] objectBytes, Class<R> type) {
+        return parse(objectBytes, 0, objectBytes.length, new MutableWriterState(), type);
+    }
+
+    public static <R extends Record> R parse(byte[] objectBytes, int offset, int length, MutableWriterState state, Class<R> type) {
+        var visitor = new RecordBindingVisitor<>(type);
+        MutableStateParser.parse(objectBytes, offset, length, state, visitor);
+
+        return visitor.result();
+    }
 
-        while (finalState.characterCounter() != objectString.length()) {
-            finalState = createTokenCommand(objectString, finalState)
-                    .map(JsonObjectParser::handleToken)
-                    .orElse(finalState)
-                    .incrementCharacterCounter();
-        }
+    public static <R extends Record> R parse(InputStream objectStream, Class<R> type) {
+        var visitor = new RecordBindingVisitor<>(type);
+        MutableStateParser.parse(objectStream, new MutableWriterState(), visitor);
 
-        return finalState.mainObject();
+        return visitor.result();
     }
 
-    private static ObjectWriterState handleToken(TokenCommand<ObjectWriterState> tokenCommand) {
-        UnaryOperator<ObjectWriterState> handler = switch (tokenCommand.token()) {
-            case BRACE_OPEN -> writerState -> handleOpenBrace(writerState, tokenCommand);
+    static JsonWriterState processCharacter(char[] input, ObjectWriterState state) {
+        return createTokenCommand(input, state)
+                .map(JsonObjectParser::handleToken)
+                .orElse(state)
+                .incrementCharacterCounter();
+    }
+
+    private static JsonWriterState handleToken(TokenCommand<ObjectWriterState> tokenCommand) {
+        Function<ObjectWriterState, JsonWriterState> handler = switch (tokenCommand.token()) {
+            case BRACE_OPEN -> JsonObjectParser::handleOpenBrace;
             case D_QUOTE -> JsonObjectParser::handleDoubleQuote;
             case BRACE_CLOSED -> JsonObjectParser::handleClosingBrace;
             case SEMI_COLON -> JsonObjectParser::handleSemiColon;
             case COMMA -> JsonObjectParser::handleComma;
             case TEXT, BOOLEAN, NUMBER, NULL -> writerState -> writeCharacterToState(writerState, tokenCommand);
-            case SQ_BRACKET_OPEN -> writerState -> handleOpenSquareBracket(writerState, tokenCommand);
-            default -> UnaryOperator.identity();
+            case SQ_BRACKET_OPEN -> JsonObjectParser::handleNestedArray;
+            default -> writerState -> writerState;
         };
 
         return handleToken(tokenCommand.token(), tokenCommand.state(), handler);
     }
 
-    private static ObjectWriterState handleToken(Token token, ObjectWriterState state, UnaryOperator<ObjectWriterState> writerStateFunction) {
+    private static JsonWriterState handleToken(Token token, ObjectWriterState state, Function<ObjectWriterState, JsonWriterState> writerStateFunction) {
         return state.getLastToken()
                 .filter(tok -> token == tok)
                 .filter(tok -> tok == TEXT)
@@ -112,49 +221,39 @@ public class JsonObjectParser {
                 .orElseGet(Optional::empty);
     }
 
-    private static ObjectWriterState handleOpenBrace(ObjectWriterState state, TokenCommand<ObjectWriterState> tokenCommand) {
+    private static ObjectWriterState handleOpenBrace(ObjectWriterState state) {
         return Conditional.of(state)
                 .firstMatching(
                         applyIf(writerState -> Objects.isNull(writerState.mainObject()) && hasStatusNotIn(writerState::valueFieldStatus, WRITING, FINISHED), ObjectWriterState::addInitialMainObject),
                         applyIf(writerState -> Objects.isNull(writerState.mainObject()), Function.identity()))
-                .orElseGet(() -> handleNestedObject(state, tokenCommand.stillToBeProcessed()));
+                .orElseGet(() -> handleNestedObject(state));
     }
 
-    private static ObjectWriterState handleNestedObject(ObjectWriterState state, char[] stillToBeProcessed) {
-        var nestedObjectString = getNestedObjectString(stillToBeProcessed);
-
-        var updatedState = state.incrementCharacterCounterBy(nestedObjectString.length() - 1);
-        var nestedObject = JsonObjectParser.parse(nestedObjectString);
-        return updatedState.writeObjectToValueField(nestedObject);
+    private static ObjectWriterState handleNestedObject(ObjectWriterState state) {
+        return new ObjectWriterState(state).addToken(BRACE_OPEN).addInitialMainObject();
     }
 
-    private static ObjectWriterState handleClosingBrace(ObjectWriterState state) {
-        return finishValueField(state);
-    }
+    private static JsonWriterState handleClosingBrace(ObjectWriterState state) {
+        var updatedState = finishValueField(state);
 
-    private static ObjectWriterState handleOpenSquareBracket(ObjectWriterState state, TokenCommand<ObjectWriterState> command) {
-        return handleNestedArray(state, command.stillToBeProcessed());
+        return Objects.isNull(updatedState.parent()) ?
+                updatedState :
+                resumeParent(updatedState).writeObjectToValueField(updatedState.mainObject().build());
     }
 
-    private static ObjectWriterState handleNestedArray(ObjectWriterState state, char[] stillToBeProcessed) {
-        var nestedArrayString = getNestedArrayString(stillToBeProcessed);
-
-        var updatedState = state.incrementCharacterCounterBy(nestedArrayString.length() - 1);
-        return updatedState.writeArrayToValueField(JsonArrayParser.parse(nestedArrayString));
+    private static JsonWriterState handleNestedArray(ObjectWriterState state) {
+        return new ArrayWriterState(state).addToken(SQ_BRACKET_OPEN).addInitialArray();
     }
 
     private static ObjectWriterState finishValueField(ObjectWriterState state) {
         return hasWritingStatus(state::valueFieldStatus) ? state.moveValueFieldToFinishState() : state;
     }
 
-    private static Optional<TokenCommand<ObjectWriterState>> createTokenCommand(String objectString, ObjectWriterState state) {
-        var stillToBeProcessed = objectString.substring(state.characterCounter()).toCharArray();
-        var character = objectString.charAt(state.characterCounter());
-
-        var command = new TokenCommand<ObjectWriterState>(stillToBeProcessed, character);
+    private static Optional<TokenCommand<ObjectWriterState>> createTokenCommand(char[] input, ObjectWriterState state) {
+        var command = new TokenCommand<ObjectWriterState>(input, state.characterCounter());
 
         return getOptionalTokenCommand(state, command)
                 .orElseGet(
-                        () -> findToken(character).map(token -> new TokenCommand<>(stillToBeProcessed, token, character, state)));
+                        () -> findToken(command.character()).map(token -> command.forToken(token, state)));
     }
 }
@@ -0,0 +1,397 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.Token;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+import nl.kooi.jsonparser.parser.util.NumberScanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_BIG_DECIMAL;
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_DOUBLE;
+import static nl.kooi.jsonparser.parser.state.Token.*;
+import static nl.kooi.jsonparser.parser.util.ParserUtil.isJsonFormatToken;
+import static nl.kooi.jsonparser.parser.util.ParserUtil.isSpace;
+
+/*
+ * Pull parser that walks a document one value at a time, without building a JsonObject or a
+ * List. nextToken() returns BRACE_OPEN, BRACE_CLOSED, SQ_BRACKET_OPEN, SQ_BRACKET_CLOSED, TEXT,
+ * NUMBER, BOOLEAN or NULL, and null at the end of the input. Identifiers are not returned as a
+ * token of their own: inside an object currentName() holds the identifier of the current value.
+ * Text is only turned into a String when getText() is called.
+ */
+public final class JsonReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int INITIAL_VALUE_SIZE = 32;
+    private static final int INITIAL_DEPTH = 8;
+
+    private final Reader source;
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    private char[] value = new char[INITIAL_VALUE_SIZE];
+    private int valueLength;
+    private final CharSequence valueSequence = new ValueSequence();
+
+    private boolean[] objectContainers = new boolean[INITIAL_DEPTH];
+    private String[] containerNames = new String[INITIAL_DEPTH];
+    private int depth;
+
+    private Token currentToken;
+    private String currentName;
+    private String pendingName;
+    private boolean expectingName;
+    private boolean skipping;
+
+    public JsonReader(String json) {
+        this.source = null;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+    }
+
+    public JsonReader(byte[] json) {
+        this(new ByteArrayInputStream(json));
+    }
+
+    public JsonReader(InputStream json) {
+        this(new InputStreamReader(json, StandardCharsets.UTF_8));
+    }
+
+    public JsonReader(Reader json) {
+        this.source = json;
+        this.buffer = new char[BUFFER_SIZE];
+    }
+
+    public Token nextToken() {
+        currentToken = readToken();
+        return currentToken;
+    }
+
+    public Token currentToken() {
+        return currentToken;
+    }
+
+    public String currentName() {
+        return currentName;
+    }
+
+    /*
+     * When the current token opens an object or array, moves to the token that closes it. Text
+     * and identifiers in between are scanned, but never turned into Strings.
+     */
+    public JsonReader skipChildren() {
+        if (currentToken != BRACE_OPEN && currentToken != SQ_BRACKET_OPEN) {
+            return this;
+        }
+
+        var targetDepth = depth - 1;
+        skipping = true;
+
+        do {
+            nextToken();
+        } while (currentToken != null && depth > targetDepth);
+
+        skipping = false;
+        return this;
+    }
+
+    public String getText() {
+        return Optional.ofNullable(currentToken)
+                .filter(token -> token == TEXT || token == NUMBER || token == BOOLEAN || token == NULL)
+                .map(token -> new String(value, 0, valueLength))
+                .orElseThrow(() -> new IllegalStateException("Current token has no text: " + currentToken));
+    }
+
+    /*
+     * Throws an ArithmeticException when the number has a fraction or doesn't fit an int.
+     */
+    public int getIntValue() {
+        try {
+            return switch (getNumberValue()) {
+                case Integer intValue -> intValue;
+                case Long longValue -> Math.toIntExact(longValue);
+                default -> getDecimalValue().intValueExact();
+            };
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Number doesn't fit an int: " + valueSequence);
+        }
+    }
+
+    /*
+     * Throws an ArithmeticException when the number has a fraction or doesn't fit a long.
+     */
+    public long getLongValue() {
+        try {
+            return switch (getNumberValue()) {
+                case Integer intValue -> intValue;
+                case Long longValue -> longValue;
+                default -> getDecimalValue().longValueExact();
+            };
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("Number doesn't fit a long: " + valueSequence);
+        }
+    }
+
+    public double getDoubleValue() {
+        return getNumberValue().doubleValue();
+    }
+
+    public BigDecimal getDecimalValue() {
+        var number = scanNumber(INTEGRAL_OR_BIG_DECIMAL);
+
+        return number instanceof BigDecimal decimal ? decimal : new BigDecimal(number.toString());
+    }
+
+    public Number getNumberValue() {
+        return scanNumber(INTEGRAL_OR_DOUBLE);
+    }
+
+    public boolean getBooleanValue() {
+        if (currentToken != BOOLEAN) {
+            throw new IllegalStateException("Current token is not a boolean: " + currentToken);
+        }
+        return valueLength == 4;
+    }
+
+    private Number scanNumber(NumberPolicy numberPolicy) {
+        if (currentToken != NUMBER) {
+            throw new IllegalStateException("Current token is not a number: " + currentToken);
+        }
+
+        return Optional.ofNullable(NumberScanner.scan(valueSequence, numberPolicy))
+                .orElseThrow(() -> new NumberFormatException("Not a number: " + valueSequence));
+    }
+
+    private Token readToken() {
+        while (ensureAvailable()) {
+            var character = buffer[position++];
+
+            switch (character) {
+                case '{' -> {
+                    return openContainer(true, BRACE_OPEN);
+                }
+                case '[' -> {
+                    return openContainer(false, SQ_BRACKET_OPEN);
+                }
+                case '}' -> {
+                    return closeContainer(BRACE_CLOSED);
+                }
+                case ']' -> {
+                    return closeContainer(SQ_BRACKET_CLOSED);
+                }
+                case '"' -> {
+                    readText();
+
+                    if (!expectingName) {
+                        return valueToken(TEXT);
+                    }
+
+                    expectingName = false;
+                    pendingName = skipping ? null : IdentifierCache.shared().canonical(value, 0, valueLength);
+                }
+                case ',', ':', ' ', '\t', '\n', '\r' -> {
+                }
+                default -> {
+                    return valueToken(readScalar(character));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private Token openContainer(boolean object, Token token) {
+        var name = currentNameForValue();
+
+        if (depth == objectContainers.length) {
+            objectContainers = Arrays.copyOf(objectContainers, depth * 2);
+            containerNames = Arrays.copyOf(containerNames, depth * 2);
+        }
+
+        objectContainers[depth] = object;
+        containerNames[depth] = name;
+        depth++;
+
+        currentName = name;
+        expectingName = object;
+        return token;
+    }
+
+    private Token closeContainer(Token token) {
+        if (depth > 0) {
+            depth--;
+            currentName = containerNames[depth];
+            containerNames[depth] = null;
+        }
+
+        expectingName = isInObject();
+        return token;
+    }
+
+    private Token valueToken(Token token) {
+        currentName = currentNameForValue();
+        expectingName = isInObject();
+        return token;
+    }
+
+    private String currentNameForValue() {
+        return isInObject() ? pendingName : null;
+    }
+
+    private boolean isInObject() {
+        return depth > 0 && objectContainers[depth - 1];
+    }
+
+    private void readText() {
+        valueLength = 0;
+
+        while (ensureAvailable()) {
+            var character = buffer[position++];
+
+            if (character == '"') {
+                return;
+            }
+
+            if (character == '\\') {
+                character = unescape(nextEscapedCharacter());
+            }
+
+            if (!skipping) {
+                appendToValue(character);
+            }
+        }
+    }
+
+    private char unescape(char character) {
+        return switch (character) {
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> readUnicode();
+            case '"', '\\', '/' -> character;
+            default -> throw new IllegalArgumentException("Invalid escape, '\\" + character + "' is not allowed in JSON");
+        };
+    }
+
+    private char readUnicode() {
+        var unicodeValue = 0;
+
+        for (var i = 0; i < 4; i++) {
+            unicodeValue = (unicodeValue << 4) | hexadecimalDigit(nextEscapedCharacter());
+        }
+        return (char) unicodeValue;
+    }
+
+    private char nextEscapedCharacter() {
+        if (!ensureAvailable()) {
+            throw new IllegalArgumentException("Unfinished escape at the end of the input");
+        }
+        return buffer[position++];
+    }
+
+    /*
+     * Only ASCII digits, Character.digit would also accept digits of other scripts.
+     */
+    private static int hexadecimalDigit(char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character >= 'a' && character <= 'f' || character >= 'A' && character <= 'F') {
+            return (character | 0x20) - 'a' + 10;
+        }
+        throw new IllegalArgumentException("Invalid unicode escape, '" + character + "' is not a hexadecimal digit");
+    }
+
+    private Token readScalar(char firstCharacter) {
+        valueLength = 0;
+        appendToValue(firstCharacter);
+
+        while (ensureAvailable() && !isSpace(buffer[position]) && !isJsonFormatToken(buffer[position])) {
+            appendToValue(buffer[position++]);
+        }
+
+        if (valueEquals("null")) {
+            return NULL;
+        }
+        return valueEquals("true") || valueEquals("false") ? BOOLEAN : NUMBER;
+    }
+
+    private boolean valueEquals(String literal) {
+        if (literal.length() != valueLength) {
+            return false;
+        }
+
+        for (var i = 0; i < valueLength; i++) {
+            if (literal.charAt(i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendToValue(char character) {
+        if (valueLength == value.length) {
+            value = Arrays.copyOf(value, valueLength * 2);
+        }
+        value[valueLength++] = character;
+    }
+
+    private boolean ensureAvailable() {
+        if (position < limit) {
+            return true;
+        }
+
+        if (source == null) {
+            return false;
+        }
+
+        try {
+            var read = source.read(buffer);
+
+            while (read == 0) {
+                read = source.read(buffer);
+            }
+
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class ValueSequence implements CharSequence {
+
+        @Override
+        public int length() {
+            return valueLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return value[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(value, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(value, 0, valueLength);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package nl.kooi.jsonparser.parser;
+
+import java.math.BigDecimal;
+
+/*
+ * Receives the structure and values of a document while it is parsed. Every method does nothing
+ * by default, so a visitor only implements the events it is interested in.
+ *
+ * Identifiers are passed as the canonical String of the IdentifierCache of the MutableWriterState,
+ * unless the visitor returns false from canonicalIdentifiers(). Then they are passed like text
+ * values: as a CharSequence that is a view on the buffers of the parser. The view is only valid
+ * during the call, a visitor that wants to keep it must copy it (for example with toString()).
+ *
+ * Numbers are passed as an int or a long when they are integral and fit, as a double otherwise.
+ * Numbers that can't be represented by a primitive under the NumberPolicy in use, are passed as
+ * a BigDecimal.
+ */
+public interface JsonVisitor {
+
+    /*
+     * Read once at the start of every parse.
+     */
+    default boolean canonicalIdentifiers() {
+        return true;
+    }
+
+    default void startObject() {
+    }
+
+    default void field(CharSequence identifier) {
+    }
+
+    default void endObject() {
+    }
+
+    default void startArray() {
+    }
+
+    default void endArray() {
+    }
+
+    default void value(CharSequence text) {
+    }
+
+    default void value(int number) {
+    }
+
+    default void value(long number) {
+    }
+
+    default void value(double number) {
+    }
+
+    default void value(BigDecimal number) {
+    }
+
+    default void value(boolean bool) {
+    }
+
+    default void nullValue() {
+    }
+}
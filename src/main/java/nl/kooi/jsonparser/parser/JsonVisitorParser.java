@@ -0,0 +1,64 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/*
+ * Parses a document without building a result: the structure and values are reported to a
+ * JsonVisitor instead. The parse methods of JsonObjectParser and JsonArrayParser that take a
+ * MutableWriterState are built on the same engine, with a visitor that builds the tree.
+ */
+public class JsonVisitorParser {
+
+    public static void parse(String json, JsonVisitor visitor) {
+        parse(json, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(String json, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(json, state, visitor);
+    }
+
+    public static void parse(byte[] jsonBytes, JsonVisitor visitor) {
+        parse(jsonBytes, 0, jsonBytes.length, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(byte[] jsonBytes, int offset, int length, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(jsonBytes, offset, length, state, visitor);
+    }
+
+    public static void parse(ByteBuffer jsonBuffer, JsonVisitor visitor) {
+        parse(jsonBuffer, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(ByteBuffer jsonBuffer, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(jsonBuffer, state, visitor);
+    }
+
+    public static void parse(InputStream jsonStream, JsonVisitor visitor) {
+        parse(jsonStream, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(InputStream jsonStream, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(jsonStream, state, visitor);
+    }
+
+    public static void parse(Reader jsonReader, JsonVisitor visitor) {
+        parse(jsonReader, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(Reader jsonReader, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(jsonReader, state, visitor);
+    }
+
+    public static void parse(Path jsonFile, JsonVisitor visitor) {
+        parse(jsonFile, new MutableWriterState(), visitor);
+    }
+
+    public static void parse(Path jsonFile, MutableWriterState state, JsonVisitor visitor) {
+        MutableStateParser.parse(jsonFile, state, visitor);
+    }
+}
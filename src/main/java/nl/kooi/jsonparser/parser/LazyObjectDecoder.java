@@ -0,0 +1,54 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.LazyJsonObject;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+import nl.kooi.jsonparser.parser.util.StructuralIndex;
+
+/*
+ * Indexes the input of a LazyJsonObject and parses its values and escaped identifiers with the
+ * mutable engine when they are read.
+ */
+final class LazyObjectDecoder implements LazyJsonObject.Decoder {
+
+    private static final LazyObjectDecoder INSTANCE = new LazyObjectDecoder();
+
+    private LazyObjectDecoder() {
+    }
+
+    static JsonObject of(byte[] input) {
+        return ParseInstrumentation.observed()
+                ? ParseInstrumentation.observeUncounted("byte[] (lazy)", input.length, () -> index(input))
+                : index(input);
+    }
+
+    private static JsonObject index(byte[] input) {
+        var structurals = StructuralIndex.build(input, 0, input.length);
+
+        if (structurals.length == 0 || input[structurals[0]] != '{') {
+            return (JsonObject) MutableStateParser.parseNested(input, 0, input.length, new MutableWriterState());
+        }
+
+        return LazyJsonObject.of(input, structurals, INSTANCE);
+    }
+
+    @Override
+    public Object value(byte[] input, int offset, int length) {
+        return MutableStateParser.parseNested(input, offset, length, new MutableWriterState());
+    }
+
+    @Override
+    public String identifier(byte[] input, int offset, int length) {
+        var end = offset + 1;
+
+        while (input[end] != '"' && input[end] != '\\') {
+            end++;
+        }
+
+        return input[end] == '"' ?
+                IdentifierCache.shared().canonical(input, offset + 1, end - offset - 1) :
+                IdentifierCache.shared().canonical((String) MutableStateParser.parseNested(input, offset, length, new MutableWriterState()));
+    }
+}
@@ -0,0 +1,308 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static nl.kooi.jsonparser.parser.state.FieldType.ARRAY;
+import static nl.kooi.jsonparser.parser.state.FieldType.OBJECT;
+
+class MutableStateParser {
+
+    private static final int CHUNK_SIZE = 8192;
+    static final long MAPPED_WINDOW_SIZE = 1L << 30;
+
+    static Object parse(String input, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, state, visitor));
+    }
+
+    static Object parse(byte[] input, int offset, int length, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, offset, length, state, visitor));
+    }
+
+    static Object parse(ByteBuffer input, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, state, visitor));
+    }
+
+    static Object parse(InputStream input, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, state, visitor));
+    }
+
+    static Object parse(Reader input, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, state, visitor));
+    }
+
+    static Object parse(Path input, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, state, visitor));
+    }
+
+    private static Object buildTree(Consumer<JsonVisitor> parser) {
+        var treeBuilder = new TreeBuildingVisitor();
+        parser.accept(treeBuilder);
+
+        return treeBuilder.result();
+    }
+
+    static Object parse(String input, int from, int to, MutableWriterState state) {
+        return buildTree(visitor -> parse(input, from, to, state, visitor));
+    }
+
+    /*
+     * For parses that are part of another parse, like the lines of NDJSON or the values of a lazy
+     * object. These are not observed on their own, the outer parse is.
+     */
+    static Object parseNested(String input, int from, int to, MutableWriterState state) {
+        ParseInstrumentation.nestedParse(to - from);
+        return buildTree(visitor -> read(input, from, to, state, visitor));
+    }
+
+    static Object parseNested(byte[] input, int offset, int length, MutableWriterState state) {
+        Objects.checkFromIndexSize(offset, length, input.length);
+        ParseInstrumentation.nestedParse(length);
+        return buildTree(visitor -> read(input, offset, length, state, visitor));
+    }
+
+    static Object parseNested(Path input, MutableWriterState state) {
+        ParseInstrumentation.nestedParse(-1);
+        return buildTree(visitor -> read(input, state, visitor, MAPPED_WINDOW_SIZE));
+    }
+
+    /*
+     * Parses the comma separated array elements from the position to the limit of the buffer as
+     * if they were surrounded by brackets. Used for the groups of elements of ParallelArrayParser.
+     */
+    @SuppressWarnings("unchecked")
+    static List<Object> parseNestedElements(ByteBuffer input, MutableWriterState state) {
+        ParseInstrumentation.nestedParse(input.remaining());
+        return (List<Object>) buildTree(visitor -> {
+            state.reset(visitor);
+            processCharacter('[', state);
+
+            var decoder = new Utf8Decoder(state);
+            decoder.decode(input);
+            decoder.finish();
+
+            processCharacter(']', state);
+            finish(state);
+        });
+    }
+
+    static void parse(String input, MutableWriterState state, JsonVisitor visitor) {
+        parse(input, 0, input.length(), state, visitor);
+    }
+
+    static void parse(String input, int from, int to, MutableWriterState state, JsonVisitor visitor) {
+        Objects.checkFromToIndex(from, to, input.length());
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("String", to - from, visitor, observedVisitor -> read(input, from, to, state, observedVisitor));
+        } else {
+            read(input, from, to, state, visitor);
+        }
+    }
+
+    private static void read(String input, int from, int to, MutableWriterState state, JsonVisitor visitor) {
+        state.reset(visitor);
+
+        for (var i = from; i < to; i++) {
+            processCharacter(input.charAt(i), state);
+        }
+
+        finish(state);
+    }
+
+    static void parse(byte[] input, int offset, int length, MutableWriterState state, JsonVisitor visitor) {
+        Objects.checkFromIndexSize(offset, length, input.length);
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("byte[]", length, visitor, observedVisitor -> read(input, offset, length, state, observedVisitor));
+        } else {
+            read(input, offset, length, state, visitor);
+        }
+    }
+
+    private static void read(byte[] input, int offset, int length, MutableWriterState state, JsonVisitor visitor) {
+        state.reset(visitor);
+
+        var decoder = new Utf8Decoder(state);
+        decoder.decode(input, offset, offset + length);
+        decoder.finish();
+
+        finish(state);
+    }
+
+    /*
+     * Parses the remaining bytes of the buffer without changing its position. Direct and read-only
+     * buffers have no accessible array, so they are decoded in place with absolute gets.
+     */
+    static void parse(ByteBuffer input, MutableWriterState state, JsonVisitor visitor) {
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("ByteBuffer", input.remaining(), visitor, observedVisitor -> read(input, state, observedVisitor));
+        } else {
+            read(input, state, visitor);
+        }
+    }
+
+    private static void read(ByteBuffer input, MutableWriterState state, JsonVisitor visitor) {
+        if (input.hasArray()) {
+            read(input.array(), input.arrayOffset() + input.position(), input.remaining(), state, visitor);
+            return;
+        }
+
+        state.reset(visitor);
+
+        var decoder = new Utf8Decoder(state);
+        decoder.decode(input);
+        decoder.finish();
+
+        finish(state);
+    }
+
+    /*
+     * Streams are read through a single buffer of CHUNK_SIZE, so the input never has to be in
+     * memory as a whole. The stream is not closed, that is left to the caller.
+     */
+    static void parse(InputStream input, MutableWriterState state, JsonVisitor visitor) {
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("InputStream", -1, visitor, observedVisitor -> read(input, state, observedVisitor));
+        } else {
+            read(input, state, visitor);
+        }
+    }
+
+    private static void read(InputStream input, MutableWriterState state, JsonVisitor visitor) {
+        state.reset(visitor);
+
+        var decoder = new Utf8Decoder(state);
+        var chunk = new byte[CHUNK_SIZE];
+
+        try {
+            for (var chunkLength = input.read(chunk); chunkLength != -1; chunkLength = input.read(chunk)) {
+                decoder.decode(chunk, 0, chunkLength);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoder.finish();
+
+        finish(state);
+    }
+
+    static void parse(Reader input, MutableWriterState state, JsonVisitor visitor) {
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("Reader", -1, visitor, observedVisitor -> read(input, state, observedVisitor));
+        } else {
+            read(input, state, visitor);
+        }
+    }
+
+    private static void read(Reader input, MutableWriterState state, JsonVisitor visitor) {
+        state.reset(visitor);
+
+        var chunk = new char[CHUNK_SIZE];
+
+        try {
+            for (var chunkLength = input.read(chunk); chunkLength != -1; chunkLength = input.read(chunk)) {
+                for (var i = 0; i < chunkLength; i++) {
+                    processCharacter(chunk[i], state);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        finish(state);
+    }
+
+    static void parse(Path input, MutableWriterState state, JsonVisitor visitor) {
+        parse(input, state, visitor, MAPPED_WINDOW_SIZE);
+    }
+
+    /*
+     * The file is memory mapped and decoded straight from the mapped region. A single mapping is
+     * limited to 2 GB, so larger files are mapped one window at a time. A character that is split
+     * between two windows is completed by the decoder.
+     */
+    static void parse(Path input, MutableWriterState state, JsonVisitor visitor, long windowSize) {
+        if (ParseInstrumentation.observed()) {
+            ParseInstrumentation.observe("Path", sizeOf(input), visitor, observedVisitor -> read(input, state, observedVisitor, windowSize));
+        } else {
+            read(input, state, visitor, windowSize);
+        }
+    }
+
+    private static void read(Path input, MutableWriterState state, JsonVisitor visitor, long windowSize) {
+        state.reset(visitor);
+
+        var decoder = new Utf8Decoder(state);
+
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            var size = channel.size();
+
+            for (var position = 0L; position < size; position += windowSize) {
+                decoder.decode(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoder.finish();
+
+        finish(state);
+    }
+
+    /*
+     * The size of the file for the instrumentation, -1 when it can't be read. In that case the
+     * parse fails on opening the file.
+     */
+    static long sizeOf(Path input) {
+        try {
+            return Files.size(input);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void finish(MutableWriterState state) {
+        state.finishValueField();
+        state.reset(null);
+    }
+
+    static void processCharacter(char character, MutableWriterState state) {
+        if (state.writingTextField()) {
+            processTextCharacter(character, state);
+            return;
+        }
+
+        switch (character) {
+            case '{' -> state.openContainer(OBJECT);
+            case '[' -> state.openContainer(ARRAY);
+            case '}', ']' -> state.closeContainer();
+            case '"' -> state.moveToTextField();
+            case ',', ':', ' ', '\t', '\n', '\r' -> state.finishValueField();
+            default -> state.writeCharacterToValueField(character);
+        }
+    }
+
+    private static void processTextCharacter(char character, MutableWriterState state) {
+        if (state.escaping()) {
+            state.writeEscapedCharacter(character);
+            return;
+        }
+
+        switch (character) {
+            case '\\' -> state.startEscape();
+            case '"' -> state.finishTextField();
+            default -> state.writeCharacterToTextField(character);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/*
+ * Parses newline delimited JSON (JSON Lines), one object per line. The input is split into
+ * chunks that end on a line break, and the chunks are parsed in parallel on the common
+ * ForkJoinPool, each with its own MutableWriterState. Empty lines are skipped.
+ */
+public class NdJsonParser {
+
+    private static final int MINIMUM_CHUNK_SIZE = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    public static Stream<JsonObject> parse(byte[] input) {
+        return parse(input, true);
+    }
+
+    public static Stream<JsonObject> parse(byte[] input, boolean keepOrder) {
+        var chunkEnds = chunkEnds(input.length, position -> input[position] == '\n');
+
+        IntPredicate isLineBreak = position -> input[position] == '\n';
+        LineParser lineParser = (lineStart, lineEnd, state) -> MutableStateParser.parseNested(input, lineStart, lineEnd - lineStart, state);
+
+        return parallelStream(chunkEnds, keepOrder, (from, to) -> parseChunk("byte[]", from, to, isLineBreak, lineParser));
+    }
+
+    public static Stream<JsonObject> parse(String input) {
+        return parse(input, true);
+    }
+
+    public static Stream<JsonObject> parse(String input, boolean keepOrder) {
+        var chunkEnds = chunkEnds(input.length(), position -> input.charAt(position) == '\n');
+
+        IntPredicate isLineBreak = position -> input.charAt(position) == '\n';
+        LineParser lineParser = (lineStart, lineEnd, state) -> MutableStateParser.parseNested(input, lineStart, lineEnd, state);
+
+        return parallelStream(chunkEnds, keepOrder, (from, to) -> parseChunk("String", from, to, isLineBreak, lineParser));
+    }
+
+    /*
+     * Delivers every object to the sink. When the order doesn't have to be kept, the sink is
+     * called from several threads at the same time, so it has to be thread safe.
+     */
+    public static void parse(byte[] input, boolean keepOrder, Consumer<? super JsonObject> sink) {
+        forEach(parse(input, keepOrder), keepOrder, sink);
+    }
+
+    public static void parse(String input, boolean keepOrder, Consumer<? super JsonObject> sink) {
+        forEach(parse(input, keepOrder), keepOrder, sink);
+    }
+
+    private static void forEach(Stream<JsonObject> objects, boolean keepOrder, Consumer<? super JsonObject> sink) {
+        if (keepOrder) {
+            objects.forEachOrdered(sink);
+        } else {
+            objects.forEach(sink);
+        }
+    }
+
+    private static Stream<JsonObject> parallelStream(int[] chunkEnds, boolean keepOrder, ChunkParser chunkParser) {
+        var chunks = IntStream.range(0, chunkEnds.length).parallel();
+
+        if (!keepOrder) {
+            chunks = chunks.unordered();
+        }
+
+        return chunks
+                .mapToObj(chunk -> chunkParser.parse(chunk == 0 ? 0 : chunkEnds[chunk - 1], chunkEnds[chunk]))
+                .flatMap(List::stream);
+    }
+
+    private static int[] chunkEnds(int length, IntPredicate isLineBreak) {
+        var chunkSize = Math.max(MINIMUM_CHUNK_SIZE, length / (ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD));
+        var chunkEnds = new int[length / chunkSize + 1];
+        var chunkCount = 0;
+
+        for (var chunkStart = 0; chunkStart < length; chunkStart = chunkEnds[chunkCount - 1]) {
+            var chunkEnd = (int) Math.min((long) chunkStart + chunkSize, length);
+
+            while (chunkEnd < length && !isLineBreak.test(chunkEnd - 1)) {
+                chunkEnd++;
+            }
+
+            if (chunkCount == chunkEnds.length) {
+                chunkEnds = Arrays.copyOf(chunkEnds, chunkCount * 2);
+            }
+            chunkEnds[chunkCount++] = chunkEnd;
+        }
+
+        return Arrays.copyOf(chunkEnds, chunkCount);
+    }
+
+    private static List<JsonObject> parseChunk(String input, int from, int to, IntPredicate isLineBreak, LineParser lineParser) {
+        return ParseInstrumentation.observed()
+                ? ParseInstrumentation.observeDocuments(input, to - from, () -> parseLines(from, to, isLineBreak, lineParser))
+                : parseLines(from, to, isLineBreak, lineParser);
+    }
+
+    private static List<JsonObject> parseLines(int from, int to, IntPredicate isLineBreak, LineParser lineParser) {
+        var state = new MutableWriterState();
+        var objects = new ArrayList<JsonObject>();
+        var lineStart = from;
+
+        for (var position = from; position <= to; position++) {
+            if (position == to || isLineBreak.test(position)) {
+                if (position > lineStart) {
+                    var object = (JsonObject) lineParser.parse(lineStart, position, state);
+
+                    if (object != null) {
+                        objects.add(object);
+                    }
+                }
+                lineStart = position + 1;
+            }
+        }
+
+        return objects;
+    }
+
+    @FunctionalInterface
+    private interface ChunkParser {
+        List<JsonObject> parse(int from, int to);
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        Object parse(int lineStart, int lineEnd, MutableWriterState state);
+    }
+}
@@ -0,0 +1,20 @@
+package nl.kooi.jsonparser.parser;
+
+public enum NumberPolicy {
+    /*
+     * Integral values become an Integer, or a Long when they do not fit an int, or a BigDecimal
+     * when they do not fit a long. Values with a fraction or an exponent become a Double.
+     */
+    INTEGRAL_OR_DOUBLE,
+
+    /*
+     * Every number becomes a Double.
+     */
+    DOUBLE,
+
+    /*
+     * Integral values are treated like INTEGRAL_OR_DOUBLE, values with a fraction or an exponent
+     * become a BigDecimal, so no precision is lost.
+     */
+    INTEGRAL_OR_BIG_DECIMAL
+}
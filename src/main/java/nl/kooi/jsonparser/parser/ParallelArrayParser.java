@@ -0,0 +1,276 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.parser.util.StructuralIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+ * Parses the elements of one large top level array in parallel. The StructuralIndex is used to
+ * find where every element of the top level array starts and ends. The elements are then divided
+ * into groups of about the same size in bytes, which are parsed on the common ForkJoinPool, and
+ * the results are added to the array in their original order.
+ *
+ * Files can be larger than an array, so they are mapped in windows (like MutableStateParser does)
+ * and indexed chunk by chunk. Instead of the boundaries of every element, only the boundaries of
+ * the groups are kept. Every group is mapped on its own and its elements are parsed as if they
+ * were surrounded by brackets.
+ */
+class ParallelArrayParser {
+
+    private static final int MINIMUM_GROUP_SIZE = 1 << 16;
+    private static final int GROUPS_PER_THREAD = 4;
+    private static final int SCAN_CHUNK_SIZE = 1 << 24;
+
+    static List<Object> parse(byte[] input) {
+        return ParseInstrumentation.observed()
+                ? ParseInstrumentation.observe("byte[] (parallel)", input.length, () -> parseInParallel(input))
+                : parseInParallel(input);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> parseInParallel(byte[] input) {
+        var boundaries = elementBoundaries(input);
+
+        if (boundaries == null) {
+            return (List<Object>) MutableStateParser.parseNested(input, 0, input.length, new MutableWriterState());
+        }
+
+        var groupEnds = groupEnds(boundaries, input.length);
+        var groups = IntStream.range(0, groupEnds.length)
+                .parallel()
+                .mapToObj(group -> parseElements(input, boundaries, group == 0 ? 0 : groupEnds[group - 1], groupEnds[group]))
+                .toList();
+
+        var array = new JsonArrayBuilder();
+        for (var group : groups) {
+            for (var element : group) {
+                array.add(element);
+            }
+        }
+
+        return array.build();
+    }
+
+    static List<Object> parse(Path input) {
+        return parse(input, MutableStateParser.MAPPED_WINDOW_SIZE, SCAN_CHUNK_SIZE);
+    }
+
+    /*
+     * The window size must be a multiple of the chunk size, which must be a multiple of
+     * StructuralIndex.BLOCK_SIZE.
+     */
+    static List<Object> parse(Path input, long windowSize, int chunkSize) {
+        return ParseInstrumentation.observed()
+                ? ParseInstrumentation.observe("Path (parallel)", MutableStateParser.sizeOf(input), () -> parseInParallel(input, windowSize, chunkSize))
+                : parseInParallel(input, windowSize, chunkSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> parseInParallel(Path input, long windowSize, int chunkSize) {
+        try (var channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            var boundaries = groupBoundaries(channel, windowSize, chunkSize);
+
+            if (boundaries == null) {
+                return (List<Object>) MutableStateParser.parseNested(input, new MutableWriterState());
+            }
+
+            var groups = IntStream.range(0, boundaries.length / 2)
+                    .parallel()
+                    .mapToObj(group -> parseGroup(channel, boundaries[group * 2], boundaries[group * 2 + 1]))
+                    .toList();
+
+            var array = new JsonArrayBuilder();
+            for (var group : groups) {
+                for (var element : group) {
+                    array.add(element);
+                }
+            }
+
+            return array.build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Returns the start and end positions of groups of top level elements as pairs, or null when
+     * the file is not an array. A group ends at the first top level comma after groupSize bytes,
+     * and is never larger than a window unless a single element is.
+     */
+    private static long[] groupBoundaries(FileChannel channel, long windowSize, int chunkSize) throws IOException {
+        var size = channel.size();
+        var groupSize = Math.min(MutableStateParser.MAPPED_WINDOW_SIZE,
+                Math.max(MINIMUM_GROUP_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * GROUPS_PER_THREAD)));
+        var index = StructuralIndex.chunked();
+        var chunk = new byte[(int) Math.min(chunkSize, size)];
+
+        var boundaries = new long[16];
+        var boundaryCount = 0;
+        var started = false;
+        var depth = 0;
+        var groupStart = 0L;
+
+        for (var windowStart = 0L; windowStart < size; windowStart += windowSize) {
+            var window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(windowSize, size - windowStart));
+
+            for (var offset = 0; offset < window.limit(); offset += chunk.length) {
+                var chunkLength = Math.min(chunk.length, window.limit() - offset);
+                window.get(offset, chunk, 0, chunkLength);
+
+                var chunkStart = windowStart + offset;
+                var structurals = index.next(chunk, 0, chunkLength);
+
+                if (!started && !isOnlyWhitespace(chunk, 0, structurals.length == 0 ? chunkLength : structurals[0])) {
+                    return null;
+                }
+
+                for (var structural : structurals) {
+                    var character = chunk[structural];
+                    var position = chunkStart + structural;
+
+                    if (!started) {
+                        if (character != '[') {
+                            return null;
+                        }
+                        started = true;
+                        groupStart = position + 1;
+                    } else if (character == '{' || character == '[') {
+                        depth++;
+                    } else if ((character == '}' || character == ']') && depth > 0) {
+                        depth--;
+                    } else if (depth == 0 && (character == ',' && position - groupStart >= groupSize || character == ']' || character == '}')) {
+                        if (boundaryCount == boundaries.length) {
+                            boundaries = Arrays.copyOf(boundaries, boundaryCount * 2);
+                        }
+                        boundaries[boundaryCount++] = groupStart;
+                        boundaries[boundaryCount++] = position;
+
+                        if (character != ',') {
+                            return Arrays.copyOf(boundaries, boundaryCount);
+                        }
+                        groupStart = position + 1;
+                    }
+                }
+            }
+        }
+
+        if (!started) {
+            return null;
+        }
+
+        if (boundaryCount == boundaries.length) {
+            boundaries = Arrays.copyOf(boundaries, boundaryCount + 2);
+        }
+        boundaries[boundaryCount++] = groupStart;
+        boundaries[boundaryCount++] = size;
+
+        return Arrays.copyOf(boundaries, boundaryCount);
+    }
+
+    private static List<Object> parseGroup(FileChannel channel, long start, long end) {
+        try {
+            return MutableStateParser.parseNestedElements(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start), new MutableWriterState());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Returns the start and end positions of the top level elements as pairs, or null when the
+     * input is not an array. Only the positions of the StructuralIndex are visited, apart from the
+     * whitespace in front of an element.
+     */
+    static int[] elementBoundaries(byte[] input) {
+        var structurals = StructuralIndex.build(input, 0, input.length);
+
+        if (structurals.length == 0 || input[structurals[0]] != '[' || !isOnlyWhitespace(input, 0, structurals[0])) {
+            return null;
+        }
+
+        var boundaries = new int[16];
+        var boundaryCount = 0;
+        var depth = 0;
+        var elementStart = skipWhitespace(input, structurals[0] + 1);
+
+        for (var index = 1; index < structurals.length; index++) {
+            var position = structurals[index];
+            var character = input[position];
+
+            if (character == '{' || character == '[') {
+                depth++;
+            } else if ((character == '}' || character == ']') && depth > 0) {
+                depth--;
+            } else if (depth == 0 && (character == ',' || character == ']' || character == '}')) {
+                if (elementStart < position) {
+                    if (boundaryCount == boundaries.length) {
+                        boundaries = Arrays.copyOf(boundaries, boundaryCount * 2);
+                    }
+                    boundaries[boundaryCount++] = elementStart;
+                    boundaries[boundaryCount++] = position;
+                }
+
+                if (character != ',') {
+                    break;
+                }
+                elementStart = skipWhitespace(input, position + 1);
+            }
+        }
+
+        return Arrays.copyOf(boundaries, boundaryCount);
+    }
+
+    private static int[] groupEnds(int[] boundaries, int inputLength) {
+        var elementCount = boundaries.length / 2;
+        var groupSize = Math.max(MINIMUM_GROUP_SIZE, inputLength / (ForkJoinPool.getCommonPoolParallelism() * GROUPS_PER_THREAD));
+        var groupEnds = new int[elementCount];
+        var groupCount = 0;
+        var groupStart = 0;
+
+        for (var element = 0; element < elementCount; element++) {
+            if (boundaries[element * 2 + 1] - boundaries[groupStart * 2] >= groupSize || element == elementCount - 1) {
+                groupEnds[groupCount++] = element + 1;
+                groupStart = element + 1;
+            }
+        }
+
+        return Arrays.copyOf(groupEnds, groupCount);
+    }
+
+    private static Object[] parseElements(byte[] input, int[] boundaries, int fromElement, int toElement) {
+        var state = new MutableWriterState();
+        var elements = new Object[toElement - fromElement];
+
+        for (var element = fromElement; element < toElement; element++) {
+            var start = boundaries[element * 2];
+            elements[element - fromElement] = MutableStateParser.parseNested(input, start, boundaries[element * 2 + 1] - start, state);
+        }
+
+        return elements;
+    }
+
+    private static boolean isOnlyWhitespace(byte[] input, int from, int to) {
+        return skipWhitespace(input, from) >= to;
+    }
+
+    private static int skipWhitespace(byte[] input, int position) {
+        while (position < input.length && isWhitespace(input[position])) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(byte character) {
+        return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+    }
+}
@@ -0,0 +1,299 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
+import nl.kooi.jsonparser.json.JsonObjectBuilder;
+import nl.kooi.jsonparser.metrics.ParseInstrumentation;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Parses only the parts of a document that are selected by a set of paths. A path is a JSON
+ * Pointer (/user/id) or a dotted path (user.id), * matches every field or element. The parts of
+ * the document that are on a path are walked, the selected values are parsed by the
+ * MutableStateParser, and everything else is passed over by a skipper that only keeps track of
+ * strings and nesting. Objects and arrays that contain no selected value are left out.
+ */
+final class PathProjector {
+
+    private static final Object NOT_SELECTED = new Object();
+
+    private final byte[] input;
+    private final MutableWriterState state = new MutableWriterState();
+    private int position;
+
+    private PathProjector(byte[] input) {
+        this.input = input;
+    }
+
+    static Object project(byte[] input, Collection<String> paths) {
+        return ParseInstrumentation.observed()
+                ? ParseInstrumentation.observe("byte[] (paths)", input.length, () -> new PathProjector(input).project(paths))
+                : new PathProjector(input).project(paths);
+    }
+
+    private Object project(Collection<String> paths) {
+        skipWhitespace();
+
+        if (position == input.length) {
+            return null;
+        }
+
+        var result = projectValue(PathNode.of(paths));
+
+        if (result != NOT_SELECTED) {
+            return result;
+        }
+
+        return input[skipWhitespaceFrom(0)] == '[' ? new JsonArrayBuilder().build() : new JsonObjectBuilder().build();
+    }
+
+    private Object projectValue(PathNode pathNode) {
+        if (pathNode.selected()) {
+            var start = position;
+            skipValue();
+            return MutableStateParser.parseNested(input, start, position - start, state);
+        }
+
+        return switch (input[position]) {
+            case '{' -> projectObject(pathNode);
+            case '[' -> projectArray(pathNode);
+            default -> {
+                skipValue();
+                yield NOT_SELECTED;
+            }
+        };
+    }
+
+    private Object projectObject(PathNode pathNode) {
+        JsonObjectBuilder object = null;
+        position++;
+
+        while (nextMember('}')) {
+            var identifier = readIdentifier();
+            skipWhitespace();
+            position++;
+            skipWhitespace();
+
+            var child = pathNode.child(identifier);
+            var value = child == null ? skipValueAndReturn() : projectValue(child);
+
+            if (value != NOT_SELECTED) {
+                object = object == null ? new JsonObjectBuilder() : object;
+                object.add(identifier, value);
+            }
+        }
+
+        return object == null ? NOT_SELECTED : object.build();
+    }
+
+    private Object projectArray(PathNode pathNode) {
+        JsonArrayBuilder array = null;
+        position++;
+
+        for (var index = 0; nextMember(']'); index++) {
+            var child = pathNode.child(index);
+            var value = child == null ? skipValueAndReturn() : projectValue(child);
+
+            if (value != NOT_SELECTED) {
+                array = array == null ? new JsonArrayBuilder() : array;
+                array.add(value);
+            }
+        }
+
+        return array == null ? NOT_SELECTED : array.build();
+    }
+
+    /*
+     * Moves to the start of the next member of an object or array. Returns false, after moving
+     * past the closing character, when there are no more members.
+     */
+    private boolean nextMember(char closingCharacter) {
+        skipWhitespace();
+
+        if (position < input.length && input[position] == ',') {
+            position++;
+            skipWhitespace();
+        }
+
+        if (position >= input.length || input[position] == closingCharacter) {
+            position++;
+            return false;
+        }
+        return true;
+    }
+
+    private String readIdentifier() {
+        var start = position;
+        var escaped = skipString();
+
+        return escaped ?
+                IdentifierCache.shared().canonical((String) MutableStateParser.parseNested(input, start, position - start, state)) :
+                IdentifierCache.shared().canonical(input, start + 1, position - start - 2);
+    }
+
+    private Object skipValueAndReturn() {
+        skipValue();
+        return NOT_SELECTED;
+    }
+
+    private void skipValue() {
+        if (input[position] == '"') {
+            skipString();
+            return;
+        }
+
+        if (input[position] != '{' && input[position] != '[') {
+            while (position < input.length && !isEndOfScalar(input[position])) {
+                position++;
+            }
+            return;
+        }
+
+        var depth = 0;
+        do {
+            switch (input[position]) {
+                case '"' -> {
+                    skipString();
+                    continue;
+                }
+                case '{', '[' -> depth++;
+                case '}', ']' -> depth--;
+                default -> {
+                }
+            }
+            position++;
+        } while (depth > 0 && position < input.length);
+    }
+
+    /*
+     * Moves past the closing quote of the string that starts at the current position. Returns
+     * whether the string contains an escaped character.
+     */
+    private boolean skipString() {
+        var escaped = false;
+        position++;
+
+        while (position < input.length) {
+            var character = input[position++];
+
+            if (character == '\\') {
+                escaped = true;
+                position++;
+            } else if (character == '"') {
+                break;
+            }
+        }
+
+        return escaped;
+    }
+
+    private void skipWhitespace() {
+        position = skipWhitespaceFrom(position);
+    }
+
+    private int skipWhitespaceFrom(int from) {
+        while (from < input.length && isWhitespace(input[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isEndOfScalar(byte character) {
+        return character == ',' || character == '}' || character == ']' || isWhitespace(character);
+    }
+
+    private static boolean isWhitespace(byte character) {
+        return character == ' ' || character == '\n' || character == '\r' || character == '\t';
+    }
+
+    /*
+     * The paths compiled into a tree: every node has a child per identifier (or array index), and
+     * a child for *. A selected node selects its value as a whole. What is selected under * is also
+     * merged into the named children, so a field or element that is selected both by name and by
+     * * gets the selections of both.
+     */
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new HashMap<>();
+        private PathNode wildcard;
+        private boolean selected;
+
+        static PathNode of(Collection<String> paths) {
+            var root = new PathNode();
+
+            for (var path : paths) {
+                var node = root;
+
+                for (var segment : segments(path)) {
+                    node = node.addChild(segment);
+                }
+                node.selected = true;
+            }
+
+            root.mergeWildcards();
+            return root;
+        }
+
+        private void mergeWildcards() {
+            if (wildcard != null) {
+                wildcard.mergeWildcards();
+                children.values().forEach(child -> child.merge(wildcard));
+            }
+            children.values().forEach(PathNode::mergeWildcards);
+        }
+
+        private void merge(PathNode other) {
+            selected |= other.selected;
+            other.children.forEach((segment, child) -> children.computeIfAbsent(segment, key -> new PathNode()).merge(child));
+
+            if (other.wildcard != null) {
+                wildcard = wildcard == null ? new PathNode() : wildcard;
+                wildcard.merge(other.wildcard);
+            }
+        }
+
+        private static String[] segments(String path) {
+            if (path.isEmpty() || path.equals("/")) {
+                return new String[0];
+            }
+
+            if (!path.startsWith("/")) {
+                return path.split("\\.");
+            }
+
+            var segments = path.substring(1).split("/", -1);
+            for (var i = 0; i < segments.length; i++) {
+                segments[i] = segments[i].replace("~1", "/").replace("~0", "~");
+            }
+            return segments;
+        }
+
+        private PathNode addChild(String segment) {
+            if (!segment.equals("*")) {
+                return children.computeIfAbsent(segment, key -> new PathNode());
+            }
+
+            if (wildcard == null) {
+                wildcard = new PathNode();
+            }
+            return wildcard;
+        }
+
+        boolean selected() {
+            return selected;
+        }
+
+        PathNode child(String identifier) {
+            var child = children.get(identifier);
+            return child != null ? child : wildcard;
+        }
+
+        PathNode child(int index) {
+            return children.isEmpty() ? wildcard : child(Integer.toString(index));
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Binds a document straight into a record, without building a JsonObject first. Every open
+ * object or array has a frame on a stack: the frame of a record collects the arguments of its
+ * canonical constructor, the frame of a List or array collects its elements.
+ *
+ * Values of unknown fields are skipped. Objects and arrays that are bound to a component of type
+ * Object or JsonObject are built as a tree by a TreeBuildingVisitor. Components that don't occur
+ * in the document keep their default value (null, 0 or false).
+ */
+final class RecordBindingVisitor<R extends Record> implements JsonVisitor {
+
+    private static final int INITIAL_DEPTH = 8;
+    private static final JsonVisitor SKIPPING_VISITOR = new JsonVisitor() {
+    };
+
+    private final RecordCodec<R> rootCodec;
+    private Frame[] frames = new Frame[INITIAL_DEPTH];
+    private int depth;
+    private R result;
+
+    RecordBindingVisitor(Class<R> type) {
+        this.rootCodec = RecordCodec.of(type);
+    }
+
+    R result() {
+        return result;
+    }
+
+    @Override
+    public void startObject() {
+        if (depth == 0) {
+            push(new RecordFrame(rootCodec));
+        } else if (frames[depth - 1] instanceof DelegatingFrame delegatingFrame) {
+            delegatingFrame.nestingDepth++;
+            delegatingFrame.visitor.startObject();
+        } else {
+            var frame = frames[depth - 1];
+            var rawType = frame.rawType();
+
+            if (rawType == null) {
+                push(new DelegatingFrame(SKIPPING_VISITOR));
+            } else if (rawType.isRecord()) {
+                push(new RecordFrame(RecordCodec.of(rawType.asSubclass(Record.class))));
+            } else if (rawType == Object.class || rawType == JsonObject.class) {
+                push(new DelegatingFrame(new TreeBuildingVisitor())).visitor.startObject();
+            } else {
+                throw cannotBind("an object", frame.genericType());
+            }
+        }
+    }
+
+    /*
+     * Identifiers are matched against the component names in the buffer of the parser. Only the
+     * objects that are built as a tree need them as Strings.
+     */
+    @Override
+    public boolean canonicalIdentifiers() {
+        return false;
+    }
+
+    @Override
+    public void field(CharSequence identifier) {
+        switch (frames[depth - 1]) {
+            case DelegatingFrame delegatingFrame when delegatingFrame.visitor != SKIPPING_VISITOR ->
+                    delegatingFrame.visitor.field(IdentifierCache.shared().canonical(identifier));
+            case RecordFrame recordFrame -> recordFrame.select(identifier);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void endObject() {
+        if (frames[depth - 1] instanceof DelegatingFrame delegatingFrame) {
+            delegatingFrame.visitor.endObject();
+        }
+        endContainer();
+    }
+
+    @Override
+    public void startArray() {
+        if (depth == 0) {
+            throw new IllegalArgumentException("Expected an object to bind to " + rootCodec.type().getName());
+        } else if (frames[depth - 1] instanceof DelegatingFrame delegatingFrame) {
+            delegatingFrame.nestingDepth++;
+            delegatingFrame.visitor.startArray();
+        } else {
+            var frame = frames[depth - 1];
+            var rawType = frame.rawType();
+
+            if (rawType == null) {
+                push(new DelegatingFrame(SKIPPING_VISITOR));
+            } else if (rawType == Object.class) {
+                push(new DelegatingFrame(new TreeBuildingVisitor())).visitor.startArray();
+            } else if (rawType.isArray() || rawType.isAssignableFrom(List.class)) {
+                push(new ListFrame(rawType, frame.genericType()));
+            } else {
+                throw cannotBind("an array", frame.genericType());
+            }
+        }
+    }
+
+    @Override
+    public void endArray() {
+        if (frames[depth - 1] instanceof DelegatingFrame delegatingFrame) {
+            delegatingFrame.visitor.endArray();
+        }
+        endContainer();
+    }
+
+    @Override
+    public void value(CharSequence text) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(text);
+        } else {
+            bind(text.toString());
+        }
+    }
+
+    @Override
+    public void value(int number) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(number);
+        } else {
+            bind(number);
+        }
+    }
+
+    @Override
+    public void value(long number) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(number);
+        } else {
+            bind(number);
+        }
+    }
+
+    @Override
+    public void value(double number) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(number);
+        } else {
+            bind(number);
+        }
+    }
+
+    @Override
+    public void value(BigDecimal number) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(number);
+        } else {
+            bind(number);
+        }
+    }
+
+    @Override
+    public void value(boolean bool) {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.value(bool);
+        } else {
+            bind(bool);
+        }
+    }
+
+    @Override
+    public void nullValue() {
+        if (delegate() instanceof JsonVisitor visitor) {
+            visitor.nullValue();
+        } else {
+            bind(null);
+        }
+    }
+
+    private JsonVisitor delegate() {
+        return depth > 0 && frames[depth - 1] instanceof DelegatingFrame delegatingFrame ? delegatingFrame.visitor : null;
+    }
+
+    private void endContainer() {
+        var frame = frames[depth - 1];
+
+        if (frame instanceof DelegatingFrame delegatingFrame && --delegatingFrame.nestingDepth > 0) {
+            return;
+        }
+
+        frames[--depth] = null;
+        var value = frame.finish();
+
+        if (frame instanceof DelegatingFrame delegatingFrame && delegatingFrame.visitor == SKIPPING_VISITOR) {
+            return;
+        }
+
+        if (depth == 0) {
+            result = rootCodec.type().cast(value);
+        } else {
+            frames[depth - 1].add(value);
+        }
+    }
+
+    private void bind(Object value) {
+        if (depth == 0) {
+            throw new IllegalArgumentException("Expected an object to bind to " + rootCodec.type().getName());
+        }
+
+        var frame = frames[depth - 1];
+
+        if (frame.rawType() != null) {
+            frame.add(convert(value, frame.rawType(), frame.genericType()));
+        }
+    }
+
+    private <F extends Frame> F push(F frame) {
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+        }
+
+        frames[depth++] = frame;
+        return frame;
+    }
+
+    private static Object convert(Object value, Class<?> type, Type genericType) {
+        return switch (value) {
+            case null -> null;
+            case String text -> convertText(text, type, genericType);
+            case Boolean bool when type == boolean.class || type == Boolean.class || type == Object.class -> bool;
+            case Number number -> convertNumber(number, type, genericType);
+            default -> throw cannotBind(value.toString(), genericType);
+        };
+    }
+
+    private static Object convertText(String text, Class<?> type, Type genericType) {
+        if (type == String.class || type == CharSequence.class || type == Object.class) {
+            return text;
+        }
+
+        if ((type == char.class || type == Character.class) && text.length() == 1) {
+            return text.charAt(0);
+        }
+
+        if (type.isEnum()) {
+            for (var constant : type.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equals(text)) {
+                    return constant;
+                }
+            }
+        }
+
+        throw cannotBind('"' + text + '"', genericType);
+    }
+
+    private static Object convertNumber(Number number, Class<?> type, Type genericType) {
+        try {
+            if (type == int.class || type == Integer.class) {
+                return number instanceof Integer ? number : (int) exactLong(number, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            } else if (type == long.class || type == Long.class) {
+                return number instanceof Long ? number : exactLong(number, Long.MIN_VALUE, Long.MAX_VALUE);
+            } else if (type == double.class || type == Double.class) {
+                return number.doubleValue();
+            } else if (type == float.class || type == Float.class) {
+                return number.floatValue();
+            } else if (type == short.class || type == Short.class) {
+                return (short) exactLong(number, Short.MIN_VALUE, Short.MAX_VALUE);
+            } else if (type == byte.class || type == Byte.class) {
+                return (byte) exactLong(number, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            } else if (type == BigDecimal.class) {
+                return toBigDecimal(number);
+            } else if (type == BigInteger.class) {
+                return toBigDecimal(number).toBigIntegerExact();
+            } else if (type.isInstance(number)) {
+                return number;
+            }
+        } catch (ArithmeticException e) {
+            throw cannotBind(number.toString(), genericType);
+        }
+
+        throw cannotBind(number.toString(), genericType);
+    }
+
+    private static long exactLong(Number number, long minimum, long maximum) {
+        var value = number instanceof Integer || number instanceof Long ? number.longValue() : toBigDecimal(number).longValueExact();
+
+        if (value < minimum || value > maximum) {
+            throw new ArithmeticException("Out of range: " + value);
+        }
+        return value;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        return switch (number) {
+            case BigDecimal decimal -> decimal;
+            case Integer integer -> BigDecimal.valueOf(integer);
+            case Long longValue -> BigDecimal.valueOf(longValue);
+            case Double doubleValue -> BigDecimal.valueOf(doubleValue);
+            default -> new BigDecimal(number.toString());
+        };
+    }
+
+    private static IllegalArgumentException cannotBind(String value, Type type) {
+        return new IllegalArgumentException("Can't bind " + value + " to " + type.getTypeName());
+    }
+
+    private abstract static class Frame {
+
+        /* The type the next value is bound to, null when it is skipped. */
+        abstract Class<?> rawType();
+
+        abstract Type genericType();
+
+        abstract void add(Object value);
+
+        abstract Object finish();
+    }
+
+    private static final class RecordFrame extends Frame {
+
+        private final RecordCodec<?> codec;
+        private final Object[] arguments;
+        private int component = -1;
+
+        private RecordFrame(RecordCodec<?> codec) {
+            this.codec = codec;
+            this.arguments = codec.newArguments();
+        }
+
+        private void select(CharSequence identifier) {
+            component = codec.componentIndex(identifier, component + 1);
+        }
+
+        @Override
+        Class<?> rawType() {
+            return component < 0 ? null : codec.rawType(component);
+        }
+
+        @Override
+        Type genericType() {
+            return codec.genericType(component);
+        }
+
+        @Override
+        void add(Object value) {
+            if (value != null || !codec.rawType(component).isPrimitive()) {
+                arguments[component] = value;
+            }
+        }
+
+        @Override
+        Object finish() {
+            return codec.construct(arguments);
+        }
+    }
+
+    private static final class ListFrame extends Frame {
+
+        private final Class<?> containerType;
+        private final Class<?> elementType;
+        private final Type genericElementType;
+        private final JsonArrayBuilder elements = new JsonArrayBuilder();
+
+        private ListFrame(Class<?> containerType, Type genericContainerType) {
+            this.containerType = containerType;
+            this.genericElementType = RecordCodec.elementType(genericContainerType);
+            this.elementType = RecordCodec.rawClass(genericElementType);
+        }
+
+        @Override
+        Class<?> rawType() {
+            return elementType;
+        }
+
+        @Override
+        Type genericType() {
+            return genericElementType;
+        }
+
+        @Override
+        void add(Object value) {
+            elements.add(value);
+        }
+
+        @Override
+        Object finish() {
+            var list = elements.build();
+
+            if (!containerType.isArray()) {
+                return list;
+            }
+
+            var array = Array.newInstance(elementType, list.size());
+            for (var i = 0; i < list.size(); i++) {
+                Array.set(array, i, list.get(i));
+            }
+            return array;
+        }
+    }
+
+    /*
+     * Passes the events of a nested object or array on to another visitor, until it is closed.
+     */
+    private static final class DelegatingFrame extends Frame {
+
+        private final JsonVisitor visitor;
+        private int nestingDepth = 1;
+
+        private DelegatingFrame(JsonVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        Class<?> rawType() {
+            return null;
+        }
+
+        @Override
+        Type genericType() {
+            return Object.class;
+        }
+
+        @Override
+        void add(Object value) {
+        }
+
+        @Override
+        Object finish() {
+            return visitor instanceof TreeBuildingVisitor treeBuildingVisitor ? treeBuildingVisitor.result() : null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package nl.kooi.jsonparser.parser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/*
+ * Describes how a record is bound from JSON: the names and types of its components and a
+ * MethodHandle to its canonical constructor. A codec is built once per record type and cached,
+ * the codecs of nested records are looked up when they are needed, so records may refer to
+ * themselves.
+ */
+final class RecordCodec<R extends Record> {
+
+    private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RecordCodec<?> computeValue(Class<?> type) {
+            return new RecordCodec<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Class<R> type;
+    private final String[] names;
+    private final Type[] genericTypes;
+    private final Class<?>[] rawTypes;
+    private final Object[] defaultArguments;
+    private final MethodHandle constructor;
+
+    private RecordCodec(Class<R> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+
+        var components = type.getRecordComponents();
+
+        this.type = type;
+        this.names = Arrays.stream(components).map(RecordComponent::getName).toArray(String[]::new);
+        this.genericTypes = Arrays.stream(components).map(RecordComponent::getGenericType).toArray(Type[]::new);
+        this.rawTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        this.defaultArguments = Arrays.stream(rawTypes).map(RecordCodec::defaultValue).toArray();
+        this.constructor = canonicalConstructor(type, rawTypes);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R extends Record> RecordCodec<R> of(Class<R> type) {
+        return (RecordCodec<R>) CODECS.get(type);
+    }
+
+    /*
+     * Fields usually arrive in the order of the components, so the component after the previous
+     * one is compared first. The name is compared character by character with the view on the
+     * buffer of the parser (see RecordBindingVisitor.canonicalIdentifiers), so the identifier
+     * never has to be turned into a String.
+     */
+    int componentIndex(CharSequence name, int expectedIndex) {
+        if (expectedIndex < names.length && contentEquals(names[expectedIndex], name)) {
+            return expectedIndex;
+        }
+
+        for (var i = 0; i < names.length; i++) {
+            if (contentEquals(names[i], name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    Class<R> type() {
+        return type;
+    }
+
+    Type genericType(int index) {
+        return genericTypes[index];
+    }
+
+    Class<?> rawType(int index) {
+        return rawTypes[index];
+    }
+
+    Object[] newArguments() {
+        return defaultArguments.clone();
+    }
+
+    R construct(Object[] arguments) {
+        try {
+            return type.cast(constructor.invokeExact(arguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not construct " + type.getName(), e);
+        }
+    }
+
+    static Class<?> rawClass(Type type) {
+        return switch (type) {
+            case Class<?> rawClass -> rawClass;
+            case ParameterizedType parameterizedType -> rawClass(parameterizedType.getRawType());
+            case GenericArrayType arrayType -> rawClass(arrayType.getGenericComponentType()).arrayType();
+            case WildcardType wildcardType -> rawClass(wildcardType.getUpperBounds()[0]);
+            case TypeVariable<?> typeVariable -> rawClass(typeVariable.getBounds()[0]);
+            default -> Object.class;
+        };
+    }
+
+    /*
+     * The type of the elements of a List (or other Iterable) or array type.
+     */
+    static Type elementType(Type type) {
+        return switch (type) {
+            case Class<?> arrayClass when arrayClass.isArray() -> arrayClass.getComponentType();
+            case GenericArrayType arrayType -> arrayType.getGenericComponentType();
+            case ParameterizedType parameterizedType -> parameterizedType.getActualTypeArguments()[0];
+            default -> Object.class;
+        };
+    }
+
+    private static boolean contentEquals(String name, CharSequence candidate) {
+        if (name.length() != candidate.length()) {
+            return false;
+        }
+
+        for (var i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != candidate.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static MethodHandle canonicalConstructor(Class<?> type, Class<?>[] parameterTypes) {
+        try {
+            var constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("No accessible canonical constructor for " + type.getName(), e);
+        }
+    }
+}
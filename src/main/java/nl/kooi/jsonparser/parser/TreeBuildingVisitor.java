@@ -0,0 +1,131 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
+import nl.kooi.jsonparser.json.JsonObjectBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/*
+ * The visitor behind the mutable parse methods of JsonObjectParser and JsonArrayParser. It
+ * builds JsonObjects and Lists on a stack of builders, one for every open container.
+ */
+final class TreeBuildingVisitor implements JsonVisitor {
+
+    private static final int INITIAL_DEPTH = 8;
+
+    private Object[] builders = new Object[INITIAL_DEPTH];
+    private String[] identifiers = new String[INITIAL_DEPTH];
+    private int depth;
+    private Object result;
+
+    Object result() {
+        return result;
+    }
+
+    @Override
+    public void startObject() {
+        push(new JsonObjectBuilder());
+    }
+
+    @Override
+    public void field(CharSequence identifier) {
+        identifiers[depth - 1] = identifier.toString();
+    }
+
+    @Override
+    public void endObject() {
+        writeValue(((JsonObjectBuilder) pop()).build());
+    }
+
+    @Override
+    public void startArray() {
+        push(new JsonArrayBuilder());
+    }
+
+    @Override
+    public void endArray() {
+        writeValue(((JsonArrayBuilder) pop()).build());
+    }
+
+    @Override
+    public void value(CharSequence text) {
+        writeValue(text.toString());
+    }
+
+    @Override
+    public void value(int number) {
+        if (isInArray()) {
+            ((JsonArrayBuilder) builders[depth - 1]).addInt(number);
+        } else {
+            writeValue(number);
+        }
+    }
+
+    @Override
+    public void value(long number) {
+        if (isInArray()) {
+            ((JsonArrayBuilder) builders[depth - 1]).addLong(number);
+        } else {
+            writeValue(number);
+        }
+    }
+
+    @Override
+    public void value(double number) {
+        if (isInArray()) {
+            ((JsonArrayBuilder) builders[depth - 1]).addDouble(number);
+        } else {
+            writeValue(number);
+        }
+    }
+
+    @Override
+    public void value(BigDecimal number) {
+        writeValue(number);
+    }
+
+    @Override
+    public void value(boolean bool) {
+        writeValue(bool);
+    }
+
+    @Override
+    public void nullValue() {
+        writeValue(null);
+    }
+
+    private void push(Object builder) {
+        if (depth == builders.length) {
+            builders = Arrays.copyOf(builders, depth * 2);
+            identifiers = Arrays.copyOf(identifiers, depth * 2);
+        }
+
+        builders[depth] = builder;
+        identifiers[depth] = null;
+        depth++;
+    }
+
+    private Object pop() {
+        depth--;
+        var builder = builders[depth];
+        builders[depth] = null;
+        identifiers[depth] = null;
+
+        return builder;
+    }
+
+    private boolean isInArray() {
+        return depth > 0 && builders[depth - 1] instanceof JsonArrayBuilder;
+    }
+
+    private void writeValue(Object value) {
+        if (depth == 0) {
+            result = value;
+        } else if (builders[depth - 1] instanceof JsonObjectBuilder objectBuilder) {
+            objectBuilder.add(identifiers[depth - 1], value);
+        } else {
+            ((JsonArrayBuilder) builders[depth - 1]).add(value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+
+import java.nio.ByteBuffer;
+
+/*
+ * Decodes UTF-8 bytes and feeds the characters straight into the MutableStateParser, so the
+ * input never has to be turned into a String first. The decoder keeps the state of an
+ * unfinished multibyte sequence, so input can be offered in chunks that split a character.
+ * Malformed sequences are replaced by U+FFFD, like new String(bytes, UTF_8) does.
+ */
+final class Utf8Decoder {
+
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+    private final MutableWriterState state;
+
+    private int codePoint;
+    private int minimumCodePoint;
+    private int continuationBytesToGo;
+
+    Utf8Decoder(MutableWriterState state) {
+        this.state = state;
+    }
+
+    void decode(byte[] bytes, int from, int to) {
+        for (var i = from; i < to; i++) {
+            var currentByte = bytes[i];
+
+            if (currentByte >= 0 && continuationBytesToGo == 0) {
+                MutableStateParser.processCharacter((char) currentByte, state);
+            } else {
+                decode(currentByte & 0xFF);
+            }
+        }
+    }
+
+    void decode(ByteBuffer bytes) {
+        for (var i = bytes.position(); i < bytes.limit(); i++) {
+            var currentByte = bytes.get(i);
+
+            if (currentByte >= 0 && continuationBytesToGo == 0) {
+                MutableStateParser.processCharacter((char) currentByte, state);
+            } else {
+                decode(currentByte & 0xFF);
+            }
+        }
+    }
+
+    void finish() {
+        if (continuationBytesToGo > 0) {
+            continuationBytesToGo = 0;
+            emit(REPLACEMENT_CHARACTER);
+        }
+    }
+
+    private void decode(int currentByte) {
+        if (continuationBytesToGo > 0) {
+            if ((currentByte & 0xC0) == 0x80) {
+                codePoint = codePoint << 6 | currentByte & 0x3F;
+
+                if (--continuationBytesToGo == 0) {
+                    emitCodePoint();
+                }
+                return;
+            }
+
+            continuationBytesToGo = 0;
+            emit(REPLACEMENT_CHARACTER);
+        }
+
+        if (currentByte < 0x80) {
+            emit((char) currentByte);
+        } else if ((currentByte & 0xE0) == 0xC0) {
+            startSequence(currentByte & 0x1F, 1, 0x80);
+        } else if ((currentByte & 0xF0) == 0xE0) {
+            startSequence(currentByte & 0x0F, 2, 0x800);
+        } else if ((currentByte & 0xF8) == 0xF0) {
+            startSequence(currentByte & 0x07, 3, 0x10000);
+        } else {
+            emit(REPLACEMENT_CHARACTER);
+        }
+    }
+
+    private void startSequence(int payload, int continuationBytes, int minimum) {
+        codePoint = payload;
+        continuationBytesToGo = continuationBytes;
+        minimumCodePoint = minimum;
+    }
+
+    private void emitCodePoint() {
+        if (codePoint < minimumCodePoint || codePoint > Character.MAX_CODE_POINT || isSurrogate(codePoint)) {
+            emit(REPLACEMENT_CHARACTER);
+        } else if (Character.isBmpCodePoint(codePoint)) {
+            emit((char) codePoint);
+        } else {
+            emit(Character.highSurrogate(codePoint));
+            emit(Character.lowSurrogate(codePoint));
+        }
+    }
+
+    private static boolean isSurrogate(int codePoint) {
+        return codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE;
+    }
+
+    private void emit(char character) {
+        MutableStateParser.processCharacter(character, state);
+    }
+}
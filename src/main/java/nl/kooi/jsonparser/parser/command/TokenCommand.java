@@ -6,36 +6,41 @@ import nl.kooi.jsonparser.parser.state.Token;
 import static nl.kooi.jsonparser.parser.state.Token.*;
 
 public record TokenCommand<T extends JsonWriterState>(
-        char[] stillToBeProcessed,
+        char[] input,
+        int position,
         Token token,
         char character,
         T state) {
 
 
-    public TokenCommand(char[] stillToBeProcessed,
-                        char character) {
-        this(stillToBeProcessed, null, character, null);
+    public TokenCommand(char[] input,
+                        int position) {
+        this(input, position, null, input[position], null);
+    }
+
+    public TokenCommand<T> forToken(Token token, T state) {
+        return new TokenCommand<>(input, position, token, character, state);
     }
 
     public TokenCommand<T> forSpace(T state) {
-        return new TokenCommand<>(stillToBeProcessed, SPACE, character, state);
+        return new TokenCommand<>(input, position, SPACE, character, state);
     }
 
 
     public TokenCommand<T> forNumber(T state) {
-        return new TokenCommand<>(stillToBeProcessed, NUMBER, character, state);
+        return new TokenCommand<>(input, position, NUMBER, character, state);
     }
 
 
     public TokenCommand<T> forBoolean(T state) {
-        return new TokenCommand<>(stillToBeProcessed, BOOLEAN, character, state);
+        return new TokenCommand<>(input, position, BOOLEAN, character, state);
     }
 
     public TokenCommand<T> forText(T state) {
-        return new TokenCommand<>(stillToBeProcessed, TEXT, character, state);
+        return new TokenCommand<>(input, position, TEXT, character, state);
     }
 
     public TokenCommand<T> forNull(T state) {
-        return new TokenCommand<>(stillToBeProcessed, NULL, character, state);
+        return new TokenCommand<>(input, position, NULL, character, state);
     }
 }
@@ -1,56 +1,65 @@
 package nl.kooi.jsonparser.parser.state;
 
 import io.github.lvdkooi.Conditional;
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
 import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.NumberPolicy;
+import nl.kooi.jsonparser.parser.util.NumberScanner;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Stack;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import static io.github.lvdkooi.Conditional.applyIf;
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_DOUBLE;
 import static nl.kooi.jsonparser.parser.state.FieldType.*;
 import static nl.kooi.jsonparser.parser.state.Token.BOOLEAN;
 import static nl.kooi.jsonparser.parser.state.Token.NUMBER;
 import static nl.kooi.jsonparser.parser.state.Token.*;
 import static nl.kooi.jsonparser.parser.state.WriterStatus.*;
-import static nl.kooi.jsonparser.parser.util.ParserUtil.findToken;
-import static nl.kooi.jsonparser.parser.util.ParserUtil.isIn;
+import static nl.kooi.jsonparser.parser.util.ParserUtil.isJsonFormatToken;
 
-public record ArrayWriterState(List<Object> array,
-                               Stack<Token> tokenStack,
+public record ArrayWriterState(JsonArrayBuilder array,
+                               Token lastToken,
                                FieldState<Object> currentValue,
                                boolean writingTextField,
-                               int characterCounter) implements JsonWriterState {
+                               int characterCounter,
+                               NumberPolicy numberPolicy,
+                               JsonWriterState parent) implements JsonWriterState {
+
+    private static final Set<Token> NON_TEXT_VALUE_PREDECESSORS = EnumSet.of(SEMI_COLON, SQ_BRACKET_OPEN, SPACE, NUMBER, BOOLEAN, NULL);
 
     public ArrayWriterState() {
-        this(null, new Stack<>(), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, 0);
+        this(INTEGRAL_OR_DOUBLE);
+    }
+
+    public ArrayWriterState(NumberPolicy numberPolicy) {
+        this(null, null, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, 0, numberPolicy, null);
+    }
+
+    public ArrayWriterState(JsonWriterState parent) {
+        this(null, null, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, parent.characterCounter(), parent.numberPolicy(), parent);
     }
 
     public ArrayWriterState incrementCharacterCounter() {
-        return new ArrayWriterState(this.array, this.tokenStack, this.currentValue, this.writingTextField, this.characterCounter + 1);
+        return new ArrayWriterState(this.array, this.lastToken, this.currentValue, this.writingTextField, this.characterCounter + 1, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState incrementCharacterCounterBy(int number) {
-        return new ArrayWriterState(this.array, this.tokenStack, this.currentValue, this.writingTextField, this.characterCounter + number);
+        return new ArrayWriterState(this.array, this.lastToken, this.currentValue, this.writingTextField, this.characterCounter + number, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState addInitialArray() {
-        return new ArrayWriterState(new ArrayList<>(), this.tokenStack, this.currentValue, this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(new JsonArrayBuilder(), this.lastToken, this.currentValue, this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState addToken(Token token) {
-        var newStack = this.tokenStack.stream().collect(Collectors.toCollection(Stack::new));
-        newStack.add(token);
-
-        return new ArrayWriterState(this.array, newStack, this.currentValue, this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(this.array, token, this.currentValue, this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public Optional<Token> getLastToken() {
-        return Optional.ofNullable(this.tokenStack)
-                .filter(stack -> !stack.isEmpty())
-                .map(Stack::peek);
+        return Optional.ofNullable(this.lastToken);
     }
 
     public WriterStatus valueFieldStatus() {
@@ -58,7 +67,7 @@ public record ArrayWriterState(List<Object> array,
     }
 
     public ArrayWriterState receiveDoubleQuote() {
-        return new ArrayWriterState(this.array, this.tokenStack, this.currentValue, !this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(this.array, this.lastToken, this.currentValue, !this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState writeCharacterToValueField(char character) {
@@ -75,40 +84,44 @@ public record ArrayWriterState(List<Object> array,
 
 
     private ArrayWriterState updateValueField(Object newObjectToBeAdded) {
-        return new ArrayWriterState(this.array, this.tokenStack, new FieldState<>(newObjectToBeAdded, this.currentValue.fieldType(), WRITING), this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(this.array, this.lastToken, new FieldState<>(newObjectToBeAdded, this.currentValue.fieldType(), WRITING), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState moveValueFieldToFinishState() {
         return addValueToArray();
     }
 
+    /*
+     * Like the builder of ObjectWriterState, the array builder is append only and shared by all
+     * states that follow each other while writing the same array.
+     */
     public ArrayWriterState addValueToArray() {
-        var newArray = new ArrayList<>(this.array);
-        newArray.add(formatType(this.currentValue));
-
-        return new ArrayWriterState(newArray, this.tokenStack, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(this.array.add(formatType(this.currentValue)), this.lastToken, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
+    @Override
     public ArrayWriterState writeObjectToValueField(JsonObject parsedObject) {
-        var updatedState = new ArrayWriterState(this.array, this.addToken(Token.BRACE_CLOSED).tokenStack, new FieldState<>(parsedObject, OBJECT, FINISHED), false, this.characterCounter);
+        var updatedState = new ArrayWriterState(this.array, Token.BRACE_CLOSED, new FieldState<>(parsedObject, OBJECT, FINISHED), false, this.characterCounter, this.numberPolicy, this.parent);
 
         return updatedState.addValueToArray();
     }
 
-    public ArrayWriterState addArrayToArray(List<Object> array) {
-        var newArray = new ArrayList<>(this.array);
-        newArray.add(array);
+    @Override
+    public ArrayWriterState writeArrayToValueField(List<Object> array) {
+        return addArrayToArray(array);
+    }
 
-        return new ArrayWriterState(newArray, this.addToken(Token.SQ_BRACKET_CLOSED).tokenStack, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), this.writingTextField, this.characterCounter);
+    public ArrayWriterState addArrayToArray(List<Object> array) {
+        return new ArrayWriterState(this.array.add(array), Token.SQ_BRACKET_CLOSED, new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     private Object formatType(FieldState<Object> fieldState) {
         return Conditional.of(fieldState)
                 .firstMatching(
                         applyIf(fs -> fs.fieldType() == STRING || fs.fieldType() == OBJECT, FieldState::value),
-                        applyIf(fs -> isNumber(fs.value().toString()), fs -> handleNumberType(fs.value().toString())),
                         applyIf(fs -> isNullValue(fs.value().toString()), fs -> null))
-                .orElseGet(() -> Boolean.valueOf(fieldState.value().toString()));
+                .orElseGet(() -> Optional.<Object>ofNullable(handleNumberType(fieldState.value().toString()))
+                        .orElseGet(() -> Boolean.valueOf(fieldState.value().toString())));
     }
 
     private boolean isNullValue(String value) {
@@ -116,7 +129,7 @@ public record ArrayWriterState(List<Object> array,
     }
 
     public ArrayWriterState moveValueFieldToWritingState(FieldType fieldType) {
-        return new ArrayWriterState(this.array, this.tokenStack, new FieldState<>("", fieldType, WRITING), this.writingTextField, this.characterCounter);
+        return new ArrayWriterState(this.array, this.lastToken, new FieldState<>("", fieldType, WRITING), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ArrayWriterState moveValueFieldToWritingStateForStringValue() {
@@ -124,30 +137,11 @@ public record ArrayWriterState(List<Object> array,
     }
 
     private Number handleNumberType(String numberString) {
-        if (numberString == null) {
-            return null;
-        }
-
-        try {
-            return Integer.valueOf(numberString);
-        } catch (NumberFormatException exc) {
-            return Double.valueOf(numberString);
-        }
-    }
-
-    private boolean isNumber(String numberString) {
-        try {
-            Double.valueOf(numberString.trim());
-            return true;
-        } catch (NumberFormatException exc) {
-            return false;
-        }
+        return NumberScanner.scan(numberString, numberPolicy);
     }
 
+    @Override
     public boolean isProcessingNonTextValue(char character) {
-        return getLastToken()
-                .filter(isIn(SEMI_COLON, SQ_BRACKET_OPEN, SPACE, NUMBER, BOOLEAN))
-                .isPresent() &&
-                findToken(character).filter(Token::isJsonFormatToken).isEmpty();
+        return NON_TEXT_VALUE_PREDECESSORS.contains(lastToken) && !isJsonFormatToken(character);
     }
 }
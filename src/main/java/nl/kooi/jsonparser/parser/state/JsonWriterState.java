@@ -1,7 +1,26 @@
 package nl.kooi.jsonparser.parser.state;
 
-public interface JsonWriterState {
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.NumberPolicy;
+
+import java.util.List;
+
+public sealed interface JsonWriterState permits ObjectWriterState, ArrayWriterState {
     boolean writingTextField();
 
     boolean isProcessingNonTextValue(char character);
+
+    int characterCounter();
+
+    NumberPolicy numberPolicy();
+
+    JsonWriterState parent();
+
+    JsonWriterState incrementCharacterCounter();
+
+    JsonWriterState incrementCharacterCounterBy(int number);
+
+    JsonWriterState writeObjectToValueField(JsonObject parsedObject);
+
+    JsonWriterState writeArrayToValueField(List<Object> array);
 }
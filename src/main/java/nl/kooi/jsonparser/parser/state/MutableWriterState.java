@@ -0,0 +1,390 @@
+package nl.kooi.jsonparser.parser.state;
+
+import nl.kooi.jsonparser.parser.JsonVisitor;
+import nl.kooi.jsonparser.parser.NumberPolicy;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+import nl.kooi.jsonparser.parser.util.NumberScanner;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static nl.kooi.jsonparser.parser.NumberPolicy.DOUBLE;
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_DOUBLE;
+import static nl.kooi.jsonparser.parser.state.FieldType.*;
+import static nl.kooi.jsonparser.parser.state.WriterStatus.*;
+
+/*
+ * Mutable counterpart of ObjectWriterState and ArrayWriterState. Identifiers and values are
+ * written into growable char buffers and the types of the open containers are kept on an array
+ * based stack, so processing a character does not allocate. Every finished identifier, value and
+ * container is reported to a JsonVisitor. Identifiers are looked up in an IdentifierCache, which
+ * is shared by all states unless another cache is passed. An instance can be reused for many
+ * parses, but it must not be shared between threads that parse concurrently.
+ */
+public final class MutableWriterState {
+
+    private static final int INITIAL_BUFFER_SIZE = 32;
+    private static final int INITIAL_DEPTH = 8;
+    private static final int MAX_PLAIN_INTEGRAL_DIGITS = 19;
+    private static final String MAX_LONG_DIGITS = Long.toString(Long.MAX_VALUE);
+
+    private char[] identifier = new char[INITIAL_BUFFER_SIZE];
+    private char[] valueField = new char[INITIAL_BUFFER_SIZE];
+    private FieldType[] containerTypes = new FieldType[INITIAL_DEPTH];
+
+    private int identifierLength;
+    private int valueFieldLength;
+    private int depth;
+    private WriterStatus identifierStatus;
+    private WriterStatus valueFieldStatus;
+    private boolean writingTextField;
+    private boolean canonicalIdentifiers;
+    private boolean escaping;
+    private int unicodeDigitsToGo;
+    private int unicodeValue;
+    private JsonVisitor visitor;
+
+    private final NumberPolicy numberPolicy;
+    private final IdentifierCache identifierCache;
+    private final CharSequence valueFieldSequence = new ValueFieldSequence();
+    private final CharSequence identifierSequence = new IdentifierSequence();
+
+    public MutableWriterState() {
+        this(INTEGRAL_OR_DOUBLE);
+    }
+
+    public MutableWriterState(NumberPolicy numberPolicy) {
+        this(numberPolicy, IdentifierCache.shared());
+    }
+
+    public MutableWriterState(NumberPolicy numberPolicy, IdentifierCache identifierCache) {
+        this.numberPolicy = numberPolicy;
+        this.identifierCache = identifierCache;
+        reset(null);
+    }
+
+    public void reset(JsonVisitor visitor) {
+        this.visitor = visitor;
+        canonicalIdentifiers = visitor == null || visitor.canonicalIdentifiers();
+        identifierLength = 0;
+        valueFieldLength = 0;
+        depth = 0;
+        identifierStatus = NOT_STARTED;
+        valueFieldStatus = NOT_STARTED;
+        writingTextField = false;
+        escaping = false;
+        unicodeDigitsToGo = 0;
+        unicodeValue = 0;
+    }
+
+    public boolean writingTextField() {
+        return writingTextField;
+    }
+
+    public boolean escaping() {
+        return escaping || unicodeDigitsToGo > 0;
+    }
+
+    public WriterStatus identifierStatus() {
+        return identifierStatus;
+    }
+
+    public WriterStatus valueFieldStatus() {
+        return valueFieldStatus;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public void openContainer(FieldType containerType) {
+        finishValueField();
+
+        if (depth == containerTypes.length) {
+            containerTypes = Arrays.copyOf(containerTypes, depth * 2);
+        }
+
+        containerTypes[depth] = containerType;
+        depth++;
+        identifierStatus = NOT_STARTED;
+
+        if (containerType == OBJECT) {
+            visitor.startObject();
+        } else {
+            visitor.startArray();
+        }
+    }
+
+    public void closeContainer() {
+        finishValueField();
+
+        if (depth == 0) {
+            return;
+        }
+
+        depth--;
+        valueWritten();
+
+        if (containerTypes[depth] == OBJECT) {
+            visitor.endObject();
+        } else {
+            visitor.endArray();
+        }
+    }
+
+    public void moveToTextField() {
+        finishValueField();
+        writingTextField = true;
+
+        if (isInObject() && identifierStatus == NOT_STARTED) {
+            identifierStatus = WRITING;
+            identifierLength = 0;
+        } else {
+            valueFieldStatus = WRITING;
+            valueFieldLength = 0;
+        }
+    }
+
+    public void finishTextField() {
+        writingTextField = false;
+
+        if (identifierStatus == WRITING) {
+            identifierStatus = FINISHED;
+            visitor.field(canonicalIdentifiers ? identifierCache.canonical(identifier, 0, identifierLength) : identifierSequence);
+        } else {
+            valueFieldStatus = NOT_STARTED;
+            valueWritten();
+            visitor.value(valueFieldSequence);
+            valueFieldLength = 0;
+        }
+    }
+
+    public void writeCharacterToTextField(char character) {
+        if (identifierStatus == WRITING) {
+            writeCharacterToIdentifier(character);
+        } else {
+            appendToValueField(character);
+        }
+    }
+
+    public void startEscape() {
+        escaping = true;
+    }
+
+    public void writeEscapedCharacter(char character) {
+        if (unicodeDigitsToGo > 0) {
+            unicodeValue = (unicodeValue << 4) | hexadecimalDigit(character);
+
+            if (--unicodeDigitsToGo == 0) {
+                writeCharacterToTextField((char) unicodeValue);
+            }
+            return;
+        }
+
+        escaping = false;
+
+        switch (character) {
+            case 'u' -> {
+                unicodeDigitsToGo = 4;
+                unicodeValue = 0;
+            }
+            case 'b' -> writeCharacterToTextField('\b');
+            case 'f' -> writeCharacterToTextField('\f');
+            case 'n' -> writeCharacterToTextField('\n');
+            case 'r' -> writeCharacterToTextField('\r');
+            case 't' -> writeCharacterToTextField('\t');
+            case '"', '\\', '/' -> writeCharacterToTextField(character);
+            default -> throw new IllegalArgumentException("Invalid escape, '\\" + character + "' is not allowed in JSON");
+        }
+    }
+
+    /*
+     * Only ASCII digits, Character.digit would also accept digits of other scripts.
+     */
+    private static int hexadecimalDigit(char character) {
+        if (character >= '0' && character <= '9') {
+            return character - '0';
+        }
+        if (character >= 'a' && character <= 'f' || character >= 'A' && character <= 'F') {
+            return (character | 0x20) - 'a' + 10;
+        }
+        throw new IllegalArgumentException("Invalid unicode escape, '" + character + "' is not a hexadecimal digit");
+    }
+
+    public void writeCharacterToValueField(char character) {
+        valueFieldStatus = WRITING;
+        appendToValueField(character);
+    }
+
+    public void finishValueField() {
+        if (valueFieldStatus != WRITING || writingTextField) {
+            return;
+        }
+
+        valueFieldStatus = NOT_STARTED;
+        valueWritten();
+        visitScalarValue();
+        valueFieldLength = 0;
+    }
+
+    private boolean isInObject() {
+        return depth > 0 && containerTypes[depth - 1] == OBJECT;
+    }
+
+    private void writeCharacterToIdentifier(char character) {
+        if (identifierLength == identifier.length) {
+            identifier = Arrays.copyOf(identifier, identifierLength * 2);
+        }
+        identifier[identifierLength++] = character;
+    }
+
+    private void appendToValueField(char character) {
+        if (valueFieldLength == valueField.length) {
+            valueField = Arrays.copyOf(valueField, valueFieldLength * 2);
+        }
+        valueField[valueFieldLength++] = character;
+    }
+
+    private void valueWritten() {
+        if (isInObject()) {
+            identifierStatus = NOT_STARTED;
+        }
+    }
+
+    private void visitScalarValue() {
+        if (valueFieldEquals("null")) {
+            visitor.nullValue();
+        } else if (valueFieldEquals("true") || valueFieldEquals("false")) {
+            visitor.value(valueFieldEquals("true"));
+        } else if (numberPolicy != DOUBLE && isPlainIntegral()) {
+            visitIntegral(plainIntegralValue());
+        } else {
+            visitNumber(Optional.ofNullable(NumberScanner.scan(valueFieldSequence, numberPolicy))
+                    .orElseThrow(() -> new UnsupportedOperationException("Other types than String, Boolean or Number are not supported yet")));
+        }
+    }
+
+    /*
+     * Integral values that fit a long are read directly. This keeps the most common numbers free
+     * of the boxing that NumberScanner needs. Values of 19 digits are compared with the digits of
+     * Long.MAX_VALUE (one more for a negative value) to make sure they don't overflow.
+     */
+    private boolean isPlainIntegral() {
+        var start = valueFieldLength > 0 && valueField[0] == '-' ? 1 : 0;
+        var digits = valueFieldLength - start;
+
+        if (digits == 0 || digits > MAX_PLAIN_INTEGRAL_DIGITS) {
+            return false;
+        }
+
+        for (var i = start; i < valueFieldLength; i++) {
+            if (valueField[i] < '0' || valueField[i] > '9') {
+                return false;
+            }
+        }
+        return digits < MAX_PLAIN_INTEGRAL_DIGITS || fitsInLong(start);
+    }
+
+    private boolean fitsInLong(int start) {
+        for (var i = 0; i < MAX_PLAIN_INTEGRAL_DIGITS; i++) {
+            var limit = MAX_LONG_DIGITS.charAt(i) + (start == 1 && i == MAX_PLAIN_INTEGRAL_DIGITS - 1 ? 1 : 0);
+
+            if (valueField[start + i] != limit) {
+                return valueField[start + i] < limit;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The digits are accumulated as a negative value, which also holds the magnitude of
+     * Long.MIN_VALUE.
+     */
+    private long plainIntegralValue() {
+        var negative = valueField[0] == '-';
+        var value = 0L;
+
+        for (var i = negative ? 1 : 0; i < valueFieldLength; i++) {
+            value = value * 10 - (valueField[i] - '0');
+        }
+        return negative ? value : -value;
+    }
+
+    private void visitIntegral(long value) {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            visitor.value((int) value);
+        } else {
+            visitor.value(value);
+        }
+    }
+
+    private void visitNumber(Number number) {
+        switch (number) {
+            case Integer intValue -> visitor.value(intValue.intValue());
+            case Long longValue -> visitor.value(longValue.longValue());
+            case Double doubleValue -> visitor.value(doubleValue.doubleValue());
+            case BigDecimal bigDecimal -> visitor.value(bigDecimal);
+            default -> visitor.value(new BigDecimal(number.toString()));
+        }
+    }
+
+    private boolean valueFieldEquals(String literal) {
+        if (literal.length() != valueFieldLength) {
+            return false;
+        }
+
+        for (var i = 0; i < valueFieldLength; i++) {
+            if (literal.charAt(i) != valueField[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class ValueFieldSequence implements CharSequence {
+
+        @Override
+        public int length() {
+            return valueFieldLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return valueField[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(valueField, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(valueField, 0, valueFieldLength);
+        }
+    }
+
+    private final class IdentifierSequence implements CharSequence {
+
+        @Override
+        public int length() {
+            return identifierLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return identifier[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(identifier, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(identifier, 0, identifierLength);
+        }
+    }
+}
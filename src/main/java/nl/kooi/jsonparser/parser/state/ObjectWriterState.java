@@ -2,57 +2,70 @@ package nl.kooi.jsonparser.parser.state;
 
 import nl.kooi.jsonparser.json.JsonNode;
 import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.JsonObjectBuilder;
+import nl.kooi.jsonparser.parser.NumberPolicy;
+import nl.kooi.jsonparser.parser.util.IdentifierCache;
+import nl.kooi.jsonparser.parser.util.NumberScanner;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_DOUBLE;
 import static nl.kooi.jsonparser.parser.state.FieldType.*;
 import static nl.kooi.jsonparser.parser.state.Token.BOOLEAN;
 import static nl.kooi.jsonparser.parser.state.Token.NUMBER;
 import static nl.kooi.jsonparser.parser.state.Token.*;
 import static nl.kooi.jsonparser.parser.state.WriterStatus.*;
-import static nl.kooi.jsonparser.parser.util.ParserUtil.findToken;
-import static nl.kooi.jsonparser.parser.util.ParserUtil.isIn;
+import static nl.kooi.jsonparser.parser.util.ParserUtil.isJsonFormatToken;
 
-public record ObjectWriterState(JsonObject mainObject,
-                                Stack<Token> tokenStack,
+public record ObjectWriterState(JsonObjectBuilder mainObject,
+                                Token lastToken,
                                 FieldType currentFieldType,
                                 FieldState<String> identifier,
                                 FieldState<?> currentValue,
                                 boolean writingTextField,
-                                int characterCounter) implements JsonWriterState {
+                                int characterCounter,
+                                NumberPolicy numberPolicy,
+                                JsonWriterState parent) implements JsonWriterState {
+
+    private static final Set<Token> NON_TEXT_VALUE_PREDECESSORS = EnumSet.of(SEMI_COLON, SQ_BRACKET_OPEN, SPACE, NUMBER, BOOLEAN, NULL);
 
     public ObjectWriterState() {
-        this(null, new Stack<>(), FieldType.UNKNOWN, FieldState.identifier("", WriterStatus.NOT_STARTED), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, 0);
+        this(INTEGRAL_OR_DOUBLE);
+    }
+
+    public ObjectWriterState(NumberPolicy numberPolicy) {
+        this(null, null, FieldType.UNKNOWN, FieldState.identifier("", WriterStatus.NOT_STARTED), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, 0, numberPolicy, null);
+    }
+
+    public ObjectWriterState(JsonWriterState parent) {
+        this(null, null, FieldType.UNKNOWN, FieldState.identifier("", WriterStatus.NOT_STARTED), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, parent.characterCounter(), parent.numberPolicy(), parent);
     }
 
-    public ObjectWriterState(JsonObject mainObject, Stack<Token> tokenStack, FieldState<String> identifier, FieldState<?> currentValue, boolean receivedDoubleQuote, int characterCounter) {
-        this(mainObject, tokenStack, FieldType.UNKNOWN, identifier, currentValue, receivedDoubleQuote, characterCounter);
+    public ObjectWriterState(JsonObjectBuilder mainObject, Token lastToken, FieldState<String> identifier, FieldState<?> currentValue, boolean receivedDoubleQuote, int characterCounter, NumberPolicy numberPolicy, JsonWriterState parent) {
+        this(mainObject, lastToken, FieldType.UNKNOWN, identifier, currentValue, receivedDoubleQuote, characterCounter, numberPolicy, parent);
     }
 
     public ObjectWriterState incrementCharacterCounter() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter + 1);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter + 1, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState incrementCharacterCounterBy(int number) {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter + number);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter + number, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState addInitialMainObject() {
-        return new ObjectWriterState(new JsonObject(null), this.tokenStack, this.identifier, this.currentValue, this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(new JsonObjectBuilder(), this.lastToken, this.identifier, this.currentValue, this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState addToken(Token token) {
-        var newStack = this.tokenStack.stream().collect(Collectors.toCollection(Stack::new));
-        newStack.add(token);
-
-        return new ObjectWriterState(this.mainObject, newStack, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, token, this.currentFieldType, this.identifier, this.currentValue, this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public Optional<Token> getLastToken() {
-        return Optional.ofNullable(this.tokenStack)
-                .filter(stack -> !stack.isEmpty())
-                .map(Stack::peek);
+        return Optional.ofNullable(this.lastToken);
     }
 
     public WriterStatus identifierStatus() {
@@ -64,11 +77,11 @@ public record ObjectWriterState(JsonObject mainObject,
     }
 
     public ObjectWriterState receiveDoubleQuote() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType, this.identifier, this.currentValue, !this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType, this.identifier, this.currentValue, !this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState writeCharacterToIdentifier(Character character) {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, FieldState.identifier(this.identifier.value().concat(character.toString()), this.identifier.status()), this.currentValue, this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, FieldState.identifier(this.identifier.value().concat(character.toString()), this.identifier.status()), this.currentValue, this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState writeCharacterToValueField(char character) {
@@ -88,56 +101,56 @@ public record ObjectWriterState(JsonObject mainObject,
     }
 
     private ObjectWriterState updateValueField(Object newObjectToBeAdded, FieldType fieldType) {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType != ARRAY ? fieldType : ARRAY, this.identifier, new FieldState<>(newObjectToBeAdded, this.currentValue.fieldType(), WRITING), this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType != ARRAY ? fieldType : ARRAY, this.identifier, new FieldState<>(newObjectToBeAdded, this.currentValue.fieldType(), WRITING), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState moveIdentifierToWritingState() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType, FieldState.identifier(this.identifier.value(), WRITING), this.currentValue(), this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType, FieldState.identifier(this.identifier.value(), WRITING), this.currentValue(), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState moveIdentifierToFinishState() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, FieldState.identifier(this.identifier.value(), FINISHED), this.currentValue(), this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, FieldState.identifier(IdentifierCache.shared().canonical(this.identifier.value()), FINISHED), this.currentValue(), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     public ObjectWriterState moveValueFieldToFinishState() {
         return flushNode();
     }
 
+    @Override
     public ObjectWriterState writeObjectToValueField(JsonObject parsedObject) {
-        var updatedState = new ObjectWriterState(this.mainObject, this.addToken(Token.BRACE_CLOSED).tokenStack, OBJECT, this.identifier, new FieldState<>(parsedObject, OBJECT, FINISHED), false, this.characterCounter);
+        var updatedState = new ObjectWriterState(this.mainObject, Token.BRACE_CLOSED, OBJECT, this.identifier, new FieldState<>(parsedObject, OBJECT, FINISHED), false, this.characterCounter, this.numberPolicy, this.parent);
 
         return updatedState.flushNode();
     }
 
+    @Override
     public ObjectWriterState writeArrayToValueField(List<Object> array) {
-        var updatedState = new ObjectWriterState(this.mainObject, this.addToken(Token.BRACE_CLOSED).tokenStack, ARRAY, this.identifier, new FieldState<>(array, ARRAY, FINISHED), false, this.characterCounter);
+        var updatedState = new ObjectWriterState(this.mainObject, Token.BRACE_CLOSED, ARRAY, this.identifier, new FieldState<>(array, ARRAY, FINISHED), false, this.characterCounter, this.numberPolicy, this.parent);
 
         return updatedState.flushNode();
     }
 
     public ObjectWriterState moveValueFieldToWritingStateForStringValue() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, this.currentFieldType, this.identifier, new FieldState<>("", STRING, WRITING), this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, this.currentFieldType, this.identifier, new FieldState<>("", STRING, WRITING), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
 
     public ObjectWriterState moveValueFieldToNotStartedState() {
-        return new ObjectWriterState(this.mainObject, this.tokenStack, UNKNOWN, this.identifier, new FieldState<>(new Object(), UNKNOWN, NOT_STARTED), this.writingTextField, this.characterCounter);
+        return new ObjectWriterState(this.mainObject, this.lastToken, UNKNOWN, this.identifier, new FieldState<>(new Object(), UNKNOWN, NOT_STARTED), this.writingTextField, this.characterCounter, this.numberPolicy, this.parent);
     }
 
+    /*
+     * The builder of the main object is append only and shared by all states that follow each
+     * other while writing the same object, so flushing a node does not copy the nodes written so
+     * far. This means the states are no longer independent snapshots: an earlier state sees the
+     * nodes that were flushed through the states after it. The parser only ever continues with
+     * the latest state, so this is not noticed while parsing.
+     */
     private ObjectWriterState flushNode() {
-        var jsonNodes = mainObject.jsonNodes();
         var valueToBeFlushed = currentValue.value();
         var node = createJsonNodeOfCorrectType(new JsonNode(identifier.value(), valueToBeFlushed));
 
-        if (jsonNodes == null) {
-            jsonNodes = new JsonNode[]{node};
-        } else {
-            var list = new ArrayList<>(Arrays.asList(jsonNodes));
-            list.add(node);
-            jsonNodes = list.toArray(JsonNode[]::new);
-        }
-
-        return new ObjectWriterState(new JsonObject(jsonNodes), this.tokenStack, FieldState.identifier("", WriterStatus.NOT_STARTED), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, this.characterCounter);
+        return new ObjectWriterState(mainObject.add(node), this.lastToken, FieldState.identifier("", WriterStatus.NOT_STARTED), new FieldState<>(new Object(), UNKNOWN, WriterStatus.NOT_STARTED), false, this.characterCounter, this.numberPolicy, this.parent);
     }
 
     private JsonNode createJsonNodeOfCorrectType(JsonNode jsonNode) {
@@ -149,19 +162,13 @@ public record ObjectWriterState(JsonObject mainObject,
             return new JsonNode(jsonNode.identifier(), null);
         }
 
-        if (isInteger(jsonNode)) {
-            return new JsonNode(jsonNode.identifier(), Integer.valueOf(((String) jsonNode.content()).trim()));
-        }
-
-        if (isDouble(jsonNode)) {
-            return new JsonNode(jsonNode.identifier(), Double.valueOf(((String) jsonNode.content()).trim()));
-        }
-
         if (isBoolean(jsonNode)) {
             return new JsonNode(jsonNode.identifier(), Boolean.valueOf(((String) jsonNode.content()).trim()));
         }
 
-        throw new UnsupportedOperationException("Other types than String, Boolean or Number are not supported yet");
+        return Optional.ofNullable(NumberScanner.scan((String) jsonNode.content(), numberPolicy))
+                .map(number -> new JsonNode(jsonNode.identifier(), number))
+                .orElseThrow(() -> new UnsupportedOperationException("Other types than String, Boolean or Number are not supported yet"));
     }
 
     private boolean isNullValue(JsonNode jsonNode) {
@@ -174,24 +181,6 @@ public record ObjectWriterState(JsonObject mainObject,
                 .isPresent();
     }
 
-    private boolean isDouble(JsonNode jsonNode) {
-        try {
-            Double.valueOf(((String) jsonNode.content()).trim());
-            return true;
-        } catch (NumberFormatException exc) {
-            return false;
-        }
-    }
-
-    private boolean isInteger(JsonNode jsonNode) {
-        try {
-            Integer.valueOf(((String) jsonNode.content()).trim());
-            return true;
-        } catch (NumberFormatException exc) {
-            return false;
-        }
-    }
-
     private boolean isBoolean(JsonNode jsonNode) {
         var value = ((String) jsonNode.content()).trim();
         return "true".equals(value) || "false".equals(value);
@@ -199,9 +188,6 @@ public record ObjectWriterState(JsonObject mainObject,
 
     @Override
     public boolean isProcessingNonTextValue(char character) {
-        return getLastToken()
-                .filter(isIn(SEMI_COLON, SQ_BRACKET_OPEN, SPACE, NUMBER, BOOLEAN, NULL))
-                .isPresent() &&
-                findToken(character).filter(Token::isJsonFormatToken).isEmpty();
+        return NON_TEXT_VALUE_PREDECESSORS.contains(lastToken) && !isJsonFormatToken(character);
     }
 }
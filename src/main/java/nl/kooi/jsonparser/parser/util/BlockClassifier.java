@@ -0,0 +1,14 @@
+package nl.kooi.jsonparser.parser.util;
+
+/*
+ * Creates the bit masks of one block of 64 bytes for the StructuralIndex: bit i of a mask is set
+ * when byte i of the block is a quote, a backslash or one of the structural characters { } [ ] : ,
+ */
+sealed interface BlockClassifier permits ScalarBlockClassifier, VectorBlockClassifier {
+
+    int QUOTES = 0;
+    int BACKSLASHES = 1;
+    int STRUCTURALS = 2;
+
+    void classify(byte[] input, int blockStart, long[] masks);
+}
@@ -0,0 +1,51 @@
+package nl.kooi.jsonparser.parser.util;
+
+import nl.kooi.jsonparser.parser.state.Token;
+
+import java.util.Arrays;
+
+public enum CharacterClass {
+    JSON_FORMAT,
+    WHITESPACE,
+    NUMBER,
+    NULL,
+    OTHER;
+
+    private static final int ASCII_TABLE_SIZE = 128;
+    private static final CharacterClass[] CLASSES = new CharacterClass[ASCII_TABLE_SIZE];
+    private static final Token[] TOKENS = new Token[ASCII_TABLE_SIZE];
+
+    static {
+        Arrays.fill(CLASSES, OTHER);
+
+        for (var character : "0123456789.-+eE".toCharArray()) {
+            CLASSES[character] = NUMBER;
+        }
+
+        for (var character : "nul".toCharArray()) {
+            CLASSES[character] = NULL;
+        }
+
+        for (var character : " \t\n\r".toCharArray()) {
+            CLASSES[character] = WHITESPACE;
+        }
+
+        for (var token : Token.values()) {
+            token.getMatchingCharacter().ifPresent(character -> {
+                TOKENS[character] = token;
+
+                if (token.isJsonFormatToken()) {
+                    CLASSES[character] = JSON_FORMAT;
+                }
+            });
+        }
+    }
+
+    public static CharacterClass of(char character) {
+        return character < ASCII_TABLE_SIZE ? CLASSES[character] : OTHER;
+    }
+
+    public static Token tokenOf(char character) {
+        return character < ASCII_TABLE_SIZE ? TOKENS[character] : null;
+    }
+}
@@ -0,0 +1,146 @@
+package nl.kooi.jsonparser.parser.util;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Returns one canonical String instance for every identifier, so documents with the same fields
+ * share their identifier Strings. Identifiers are looked up directly in the char or byte buffers
+ * of the parser, a new String is only created when the identifier is not in the cache.
+ *
+ * The cache is a fixed size, direct mapped table: an identifier replaces the entry that has the
+ * same slot. Entries are read and written without locking, which is safe because Strings are
+ * immutable; at worst two threads create the same String. Identifiers longer than
+ * MAX_IDENTIFIER_LENGTH are not cached.
+ */
+public final class IdentifierCache {
+
+    private static final int DEFAULT_SIZE = 4096;
+    private static final int MAX_IDENTIFIER_LENGTH = 64;
+    private static final IdentifierCache SHARED = new IdentifierCache(DEFAULT_SIZE);
+
+    private final String[] entries;
+    private final int mask;
+
+    public IdentifierCache(int size) {
+        var tableSize = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+
+        this.entries = new String[tableSize];
+        this.mask = tableSize - 1;
+    }
+
+    public static IdentifierCache shared() {
+        return SHARED;
+    }
+
+    public String canonical(char[] characters, int from, int length) {
+        if (length > MAX_IDENTIFIER_LENGTH) {
+            return new String(characters, from, length);
+        }
+
+        var hash = 0;
+        for (var i = from; i < from + length; i++) {
+            hash = 31 * hash + characters[i];
+        }
+
+        var slot = slot(hash);
+        var entry = entries[slot];
+
+        if (entry != null && entry.length() == length && matches(entry, characters, from)) {
+            return entry;
+        }
+
+        var identifier = new String(characters, from, length);
+        entries[slot] = identifier;
+        return identifier;
+    }
+
+    /*
+     * Looks up UTF-8 encoded identifiers. Only ASCII identifiers are cached, others are decoded.
+     */
+    public String canonical(byte[] bytes, int from, int length) {
+        if (length > MAX_IDENTIFIER_LENGTH) {
+            return new String(bytes, from, length, StandardCharsets.UTF_8);
+        }
+
+        var hash = 0;
+        for (var i = from; i < from + length; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, from, length, StandardCharsets.UTF_8);
+            }
+            hash = 31 * hash + bytes[i];
+        }
+
+        var slot = slot(hash);
+        var entry = entries[slot];
+
+        if (entry != null && entry.length() == length && matches(entry, bytes, from)) {
+            return entry;
+        }
+
+        var identifier = new String(bytes, from, length, StandardCharsets.ISO_8859_1);
+        entries[slot] = identifier;
+        return identifier;
+    }
+
+    public String canonical(CharSequence identifier) {
+        var length = identifier.length();
+
+        if (length > MAX_IDENTIFIER_LENGTH) {
+            return identifier.toString();
+        }
+
+        var hash = 0;
+        for (var i = 0; i < length; i++) {
+            hash = 31 * hash + identifier.charAt(i);
+        }
+
+        var slot = slot(hash);
+        var entry = entries[slot];
+
+        if (entry != null && entry.contentEquals(identifier)) {
+            return entry;
+        }
+
+        var canonicalIdentifier = identifier.toString();
+        entries[slot] = canonicalIdentifier;
+        return canonicalIdentifier;
+    }
+
+    public String canonical(String identifier) {
+        if (identifier.length() > MAX_IDENTIFIER_LENGTH) {
+            return identifier;
+        }
+
+        var slot = slot(identifier.hashCode());
+        var entry = entries[slot];
+
+        if (identifier.equals(entry)) {
+            return entry;
+        }
+
+        entries[slot] = identifier;
+        return identifier;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private static boolean matches(String entry, char[] characters, int from) {
+        for (var i = 0; i < entry.length(); i++) {
+            if (entry.charAt(i) != characters[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String entry, byte[] bytes, int from) {
+        for (var i = 0; i < entry.length(); i++) {
+            if (entry.charAt(i) != bytes[from + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,151 @@
+package nl.kooi.jsonparser.parser.util;
+
+import nl.kooi.jsonparser.parser.NumberPolicy;
+
+import java.math.BigDecimal;
+
+import static nl.kooi.jsonparser.parser.NumberPolicy.DOUBLE;
+import static nl.kooi.jsonparser.parser.NumberPolicy.INTEGRAL_OR_BIG_DECIMAL;
+
+public final class NumberScanner {
+
+    private static final int MAX_SIGNIFICAND_DIGITS = 18;
+    private static final long MAX_EXACT_DOUBLE_SIGNIFICAND = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private NumberScanner() {
+    }
+
+    public static Number scan(CharSequence text, NumberPolicy policy) {
+        return scan(text, 0, text.length(), policy);
+    }
+
+    /*
+     * Reads a JSON number from the given range, ignoring surrounding whitespace. Returns null
+     * when the range does not contain a valid number, so callers can try other value types
+     * without relying on exceptions.
+     */
+    public static Number scan(CharSequence text, int from, int to, NumberPolicy policy) {
+        while (from < to && ParserUtil.isSpace(text.charAt(from))) {
+            from++;
+        }
+        while (to > from && ParserUtil.isSpace(text.charAt(to - 1))) {
+            to--;
+        }
+
+        var position = from;
+        var negative = position < to && text.charAt(position) == '-';
+        if (negative) {
+            position++;
+        }
+
+        var significand = 0L;
+        var significandDigits = 0;
+        var truncated = false;
+        var exponent = 0;
+
+        var integralStart = position;
+        while (position < to && ParserUtil.isNumber(text.charAt(position))) {
+            var digit = text.charAt(position++) - '0';
+
+            if (significandDigits < MAX_SIGNIFICAND_DIGITS || !truncated && fitsInLong(significand, digit, negative)) {
+                significand = significand * 10 + digit;
+                significandDigits += significand == 0 ? 0 : 1;
+            } else {
+                truncated = true;
+                exponent++;
+            }
+        }
+
+        if (position == integralStart) {
+            return null;
+        }
+
+        var integral = true;
+
+        if (position < to && text.charAt(position) == '.') {
+            integral = false;
+            var fractionStart = ++position;
+
+            while (position < to && ParserUtil.isNumber(text.charAt(position))) {
+                var digit = text.charAt(position++) - '0';
+
+                if (significandDigits < MAX_SIGNIFICAND_DIGITS) {
+                    significand = significand * 10 + digit;
+                    significandDigits += significand == 0 ? 0 : 1;
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+            }
+
+            if (position == fractionStart) {
+                return null;
+            }
+        }
+
+        if (position < to && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            integral = false;
+            position++;
+
+            var negativeExponent = position < to && text.charAt(position) == '-';
+            if (position < to && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+                position++;
+            }
+
+            var exponentStart = position;
+            var explicitExponent = 0;
+            while (position < to && ParserUtil.isNumber(text.charAt(position))) {
+                explicitExponent = Math.min(explicitExponent * 10 + text.charAt(position++) - '0', 100_000);
+            }
+
+            if (position == exponentStart) {
+                return null;
+            }
+
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (position != to) {
+            return null;
+        }
+
+        if (integral && !truncated) {
+            return integralValue(negative ? -significand : significand, policy);
+        }
+
+        if (integral && policy != DOUBLE || !integral && policy == INTEGRAL_OR_BIG_DECIMAL) {
+            return new BigDecimal(text.subSequence(from, to).toString());
+        }
+
+        if (!truncated && significand >= 0 && significand <= MAX_EXACT_DOUBLE_SIGNIFICAND && Math.abs(exponent) < POWERS_OF_TEN.length) {
+            var value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(text.subSequence(from, to).toString());
+    }
+
+    /*
+     * Whether a 19th digit can be added without overflowing a long. The magnitude of
+     * Long.MIN_VALUE is one more than Long.MAX_VALUE, it wraps to Long.MIN_VALUE itself, which
+     * is also what negating it results in.
+     */
+    private static boolean fitsInLong(long significand, int digit, boolean negative) {
+        return significand >= 0 && significand < Long.MAX_VALUE / 10 ||
+                significand == Long.MAX_VALUE / 10 && digit <= Long.MAX_VALUE % 10 + (negative ? 1 : 0);
+    }
+
+    private static Number integralValue(long value, NumberPolicy policy) {
+        if (policy == DOUBLE) {
+            return (double) value;
+        }
+
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        return value;
+    }
+}
@@ -6,67 +6,28 @@ import nl.kooi.jsonparser.parser.state.JsonWriterState;
 import nl.kooi.jsonparser.parser.state.Token;
 import nl.kooi.jsonparser.parser.state.WriterStatus;
 
-import java.util.*;
-import java.util.function.Predicate;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 import static io.github.lvdkooi.Conditional.applyIf;
 import static nl.kooi.jsonparser.parser.state.Token.D_QUOTE;
-import static nl.kooi.jsonparser.parser.state.Token.SPACE;
 import static nl.kooi.jsonparser.parser.state.WriterStatus.WRITING;
+import static nl.kooi.jsonparser.parser.util.CharacterClass.*;
 
 public class ParserUtil {
 
-    public static String getNestedArrayString(char[] stillToBeProcessed) {
-        return getNestedString(stillToBeProcessed, '[', ']');
-    }
-
-    public static String getNestedObjectString(char[] stillToBeProcessed) {
-        return getNestedString(stillToBeProcessed, '{', '}');
-    }
-
-    private static String getNestedString(char[] stillToBeProcessed, char openCharacter, char closingCharacter) {
-        var openBraceCounter = 0;
-        var currentString = "";
-        var closedBraceCounter = 0;
-
-        for (var character : stillToBeProcessed) {
-            currentString = currentString.concat(String.valueOf(character));
-
-            if (character == closingCharacter) {
-                closedBraceCounter++;
-            }
-            if (character == openCharacter) {
-                openBraceCounter++;
-            }
-
-            if (closedBraceCounter == openBraceCounter) {
-                break;
-            }
-        }
+    public static JsonWriterState resumeParent(JsonWriterState nestedState) {
+        var parent = nestedState.parent();
 
-        return currentString;
+        return parent.incrementCharacterCounterBy(nestedState.characterCounter() - parent.characterCounter());
     }
 
     public static boolean isSpace(char character) {
-        return SPACE.getMatchingCharacter()
-                .filter(tokenMatchesChar(character))
-                .isPresent();
-    }
-
-    public static Predicate<Character> tokenMatchesChar(char character) {
-        return tokenCharacter -> Optional.ofNullable(tokenCharacter)
-                .filter(tokenChar -> tokenChar.equals(character))
-                .isPresent();
+        return CharacterClass.of(character) == WHITESPACE;
     }
 
     public static boolean isNumber(char character) {
-        try {
-            Integer.valueOf(character);
-            return true;
-        } catch (NumberFormatException exc) {
-            return false;
-        }
+        return character >= '0' && character <= '9';
     }
 
     public static boolean isDecimalPoint(char character) {
@@ -78,40 +39,36 @@ public class ParserUtil {
     }
 
     public static boolean isNumberRelatedCharacter(char character) {
-        return isNumber(character) || isDecimalPoint(character) || isMinus(character);
+        return CharacterClass.of(character) == NUMBER;
     }
 
     public static boolean isDoubleQuote(char character) {
-        return D_QUOTE.getMatchingCharacter()
-                .filter(tokenMatchesChar(character))
-                .isPresent();
+        return CharacterClass.tokenOf(character) == D_QUOTE;
     }
 
-    public static Optional<Token> findToken(char character) {
-        return Arrays.stream(Token.values()).filter(Objects::nonNull).filter(token -> token.getMatchingCharacter().filter(tokenChar -> tokenChar.equals(character)).isPresent()).findFirst();
-
+    public static boolean isJsonFormatToken(char character) {
+        return CharacterClass.of(character) == JSON_FORMAT;
     }
 
-    public static Predicate<Token> isIn(Token... tokens) {
-        return t -> Set.of(tokens).contains(t);
+    public static Optional<Token> findToken(char character) {
+        return Optional.ofNullable(CharacterClass.tokenOf(character));
     }
 
     public static <T extends JsonWriterState> Conditional<T, Optional<TokenCommand<T>>> getOptionalTokenCommand(T state, TokenCommand<T> command) {
+        var character = command.character();
+        var characterClass = CharacterClass.of(character);
+
         return Conditional
                 .of(state)
                 .firstMatching(
-                        applyIf(writerState -> writerState.writingTextField() && !isDoubleQuote(command.character()), command::forText),
-                        applyIf(writerState -> !writerState.writingTextField() && isSpace(command.character()), command::forSpace),
-                        applyIf(writerState -> writerState.isProcessingNonTextValue(command.character()) && isNumberRelatedCharacter(command.character()), command::forNumber),
-                        applyIf(writerState -> writerState.isProcessingNonTextValue(command.character()) && isNullRelatedCharacter(command.character()), command::forBoolean),
-                        applyIf(writerState -> writerState.isProcessingNonTextValue(command.character()), command::forNull))
+                        applyIf(writerState -> writerState.writingTextField() && !isDoubleQuote(character), command::forText),
+                        applyIf(writerState -> !writerState.writingTextField() && characterClass == WHITESPACE, command::forSpace),
+                        applyIf(writerState -> characterClass == NUMBER && writerState.isProcessingNonTextValue(character), command::forNumber),
+                        applyIf(writerState -> characterClass == NULL && writerState.isProcessingNonTextValue(character), command::forNull),
+                        applyIf(writerState -> writerState.isProcessingNonTextValue(character), command::forBoolean))
                 .map(Optional::of);
     }
 
-    private static boolean isNullRelatedCharacter(char character) {
-        return List.of('n', 'u', 'l').contains(character);
-    }
-
     public static boolean hasWritingStatus(Supplier<WriterStatus> statusSupplier) {
         return hasStatus(statusSupplier, WRITING);
     }
@@ -121,6 +78,13 @@ public class ParserUtil {
     }
 
     public static boolean hasStatusNotIn(Supplier<WriterStatus> statusSupplier, WriterStatus... statuses) {
-        return !Set.of(statuses).contains(statusSupplier.get());
+        var status = statusSupplier.get();
+
+        for (var candidate : statuses) {
+            if (candidate == status) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -0,0 +1,31 @@
+package nl.kooi.jsonparser.parser.util;
+
+final class ScalarBlockClassifier implements BlockClassifier {
+
+    @Override
+    public void classify(byte[] input, int blockStart, long[] masks) {
+        classify(input, blockStart, StructuralIndex.BLOCK_SIZE, masks);
+    }
+
+    static void classify(byte[] input, int blockStart, int blockLength, long[] masks) {
+        var quotes = 0L;
+        var backslashes = 0L;
+        var structurals = 0L;
+
+        for (var i = 0; i < blockLength; i++) {
+            var bit = 1L << i;
+
+            switch (input[blockStart + i]) {
+                case '"' -> quotes |= bit;
+                case '\\' -> backslashes |= bit;
+                case '{', '}', '[', ']', ':', ',' -> structurals |= bit;
+                default -> {
+                }
+            }
+        }
+
+        masks[QUOTES] = quotes;
+        masks[BACKSLASHES] = backslashes;
+        masks[STRUCTURALS] = structurals;
+    }
+}
@@ -0,0 +1,114 @@
+package nl.kooi.jsonparser.parser.util;
+
+import java.util.Arrays;
+
+/*
+ * Finds the positions of the structural characters { } [ ] : , and of the opening quote of every
+ * string, skipping everything within strings. The input is processed in blocks of 64 bytes: a
+ * BlockClassifier creates bit masks of the quotes, backslashes and structural characters of a
+ * block, after which escaped quotes and the parts within strings are found with bit operations
+ * instead of character by character.
+ *
+ * The masks are created with the Vector API when the jdk.incubator.vector module is available
+ * (--add-modules jdk.incubator.vector), otherwise with a scalar loop.
+ */
+public final class StructuralIndex {
+
+    static final int BLOCK_SIZE = 64;
+
+    private static final long EVEN_BITS = 0x5555555555555555L;
+    private static final BlockClassifier CLASSIFIER = createClassifier();
+
+    private final BlockClassifier classifier;
+    private final long[] masks = new long[3];
+    private long previousEscaped;
+    private long previousInString;
+
+    private StructuralIndex(BlockClassifier classifier) {
+        this.classifier = classifier;
+    }
+
+    public static int[] build(byte[] input, int from, int to) {
+        return build(input, from, to, CLASSIFIER);
+    }
+
+    /*
+     * For inputs that don't fit in one array, like large files. The chunks of the input are
+     * passed to next(...) in order, the escape and string state at the end of a chunk is carried
+     * over to the next one. Every chunk but the last must be a multiple of BLOCK_SIZE long.
+     */
+    public static StructuralIndex chunked() {
+        return new StructuralIndex(CLASSIFIER);
+    }
+
+    public static boolean isVectorized() {
+        return !(CLASSIFIER instanceof ScalarBlockClassifier);
+    }
+
+    static int[] build(byte[] input, int from, int to, BlockClassifier classifier) {
+        return new StructuralIndex(classifier).next(input, from, to);
+    }
+
+    /*
+     * Returns the positions within the chunk.
+     */
+    public int[] next(byte[] chunk, int from, int to) {
+        var positions = new int[Math.max(16, (to - from) / 8)];
+        var positionCount = 0;
+
+        for (var blockStart = from; blockStart < to; blockStart += BLOCK_SIZE) {
+            var blockLength = Math.min(BLOCK_SIZE, to - blockStart);
+
+            if (blockLength == BLOCK_SIZE) {
+                classifier.classify(chunk, blockStart, masks);
+            } else {
+                ScalarBlockClassifier.classify(chunk, blockStart, blockLength, masks);
+            }
+
+            var backslashes = masks[BlockClassifier.BACKSLASHES] & ~previousEscaped;
+            var followsEscape = backslashes << 1 | previousEscaped;
+            var oddSequenceStarts = backslashes & ~EVEN_BITS & ~followsEscape;
+            var sequencesStartingOnEvenBits = oddSequenceStarts + backslashes;
+            previousEscaped = Long.compareUnsigned(sequencesStartingOnEvenBits, backslashes) < 0 ? 1L : 0L;
+            var escaped = (EVEN_BITS ^ (sequencesStartingOnEvenBits << 1)) & followsEscape;
+
+            var quotes = masks[BlockClassifier.QUOTES] & ~escaped;
+            var inString = prefixXor(quotes) ^ previousInString;
+            previousInString = inString >> 63;
+
+            var structurals = masks[BlockClassifier.STRUCTURALS] & ~inString | quotes & inString;
+
+            if (positionCount + Long.bitCount(structurals) > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionCount + BLOCK_SIZE));
+            }
+
+            while (structurals != 0) {
+                positions[positionCount++] = blockStart + Long.numberOfTrailingZeros(structurals);
+                structurals &= structurals - 1;
+            }
+        }
+
+        return Arrays.copyOf(positions, positionCount);
+    }
+
+    private static long prefixXor(long bits) {
+        bits ^= bits << 1;
+        bits ^= bits << 2;
+        bits ^= bits << 4;
+        bits ^= bits << 8;
+        bits ^= bits << 16;
+        bits ^= bits << 32;
+        return bits;
+    }
+
+    private static BlockClassifier createClassifier() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorBlockClassifier();
+            } catch (LinkageError e) {
+                return new ScalarBlockClassifier();
+            }
+        }
+        return new ScalarBlockClassifier();
+    }
+}
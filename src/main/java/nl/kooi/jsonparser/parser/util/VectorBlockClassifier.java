@@ -0,0 +1,44 @@
+package nl.kooi.jsonparser.parser.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Compares all bytes of a vector at once, with the widest vectors the platform supports. Setting
+ * bit 0x20 maps [ onto { and ] onto }, which saves two comparisons per vector.
+ */
+final class VectorBlockClassifier implements BlockClassifier {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    VectorBlockClassifier() {
+        if (SPECIES.length() > StructuralIndex.BLOCK_SIZE) {
+            throw new LinkageError("Vectors wider than a block are not supported");
+        }
+    }
+
+    @Override
+    public void classify(byte[] input, int blockStart, long[] masks) {
+        var quotes = 0L;
+        var backslashes = 0L;
+        var structurals = 0L;
+
+        for (var offset = 0; offset < StructuralIndex.BLOCK_SIZE; offset += SPECIES.length()) {
+            var bytes = ByteVector.fromArray(SPECIES, input, blockStart + offset);
+            var brackets = bytes.lanewise(VectorOperators.OR, (byte) 0x20);
+
+            quotes |= bytes.eq((byte) '"').toLong() << offset;
+            backslashes |= bytes.eq((byte) '\\').toLong() << offset;
+            structurals |= brackets.eq((byte) '{')
+                    .or(brackets.eq((byte) '}'))
+                    .or(bytes.eq((byte) ':'))
+                    .or(bytes.eq((byte) ','))
+                    .toLong() << offset;
+        }
+
+        masks[QUOTES] = quotes;
+        masks[BACKSLASHES] = backslashes;
+        masks[STRUCTURALS] = structurals;
+    }
+}
@@ -0,0 +1,11 @@
+package nl.kooi.jsonparser.writer;
+
+/*
+ * Writes a value as a sequence of events on a JsonWriter, for types the writer doesn't know
+ * itself, like records with a generated codec.
+ */
+@FunctionalInterface
+public interface JsonSerializer<T> {
+
+    void write(T value, JsonWriter writer);
+}
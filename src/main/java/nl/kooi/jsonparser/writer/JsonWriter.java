@@ -0,0 +1,507 @@
+package nl.kooi.jsonparser.writer;
+
+import nl.kooi.jsonparser.json.DoubleList;
+import nl.kooi.jsonparser.json.IntList;
+import nl.kooi.jsonparser.json.IntegralList;
+import nl.kooi.jsonparser.json.JsonNode;
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.LongList;
+import nl.kooi.jsonparser.parser.JsonVisitor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.List;
+
+/*
+ * Writes JsonObjects, JsonNodes, Lists, Strings, Numbers, Booleans and null as JSON. The output is
+ * collected in a char buffer that is flushed to the target when it is full, for byte targets the
+ * characters are encoded as UTF-8 into a byte buffer first. Both buffers belong to the writer, so
+ * a writer can be reused for many documents, but it must not be used by several threads at the
+ * same time.
+ *
+ * Integral numbers are written digit by digit, doubles through a reusable StringBuilder, so
+ * numbers don't need intermediate Strings.
+ *
+ * While a JsonSerializer is writing, the document can also be written one event at a time with
+ * the methods of JsonVisitor, so a parse can be piped straight into a writer. Separators are
+ * inserted by the writer.
+ */
+public final class JsonWriter implements JsonVisitor {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ESCAPED_CHARACTER_LENGTH = 6;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final byte[] encodedBuffer = new byte[BUFFER_SIZE * 3];
+    private final StringBuilder numberBuffer = new StringBuilder(32);
+    private int length;
+    private Target target;
+    private boolean separatorNeeded;
+
+    public static String toJson(Object value) {
+        var json = new StringBuilder();
+        new JsonWriter().write(value, json);
+
+        return json.toString();
+    }
+
+    public void write(Object value, Appendable output) {
+        write(value, (content, writer) -> writer.value(content), output);
+    }
+
+    public void write(Object value, OutputStream output) {
+        write(value, (content, writer) -> writer.value(content), output);
+    }
+
+    /*
+     * Writes from the position of the buffer onwards. Throws a BufferOverflowException when the
+     * buffer has not enough room left.
+     */
+    public void write(Object value, ByteBuffer output) {
+        write(value, (content, writer) -> writer.value(content), output);
+    }
+
+    public <T> void write(T value, JsonSerializer<? super T> serializer, Appendable output) {
+        if (output instanceof StringBuilder stringBuilder) {
+            write(value, serializer, (characters, characterCount) -> stringBuilder.append(characters, 0, characterCount));
+        } else {
+            write(value, serializer, (characters, characterCount) -> output.append(CharBuffer.wrap(characters, 0, characterCount)));
+        }
+    }
+
+    public <T> void write(T value, JsonSerializer<? super T> serializer, OutputStream output) {
+        write(value, serializer, (characters, characterCount) -> output.write(encodedBuffer, 0, encode(characters, characterCount)));
+    }
+
+    public <T> void write(T value, JsonSerializer<? super T> serializer, ByteBuffer output) {
+        write(value, serializer, (characters, characterCount) -> output.put(encodedBuffer, 0, encode(characters, characterCount)));
+    }
+
+    private <T> void write(T value, JsonSerializer<? super T> serializer, Target target) {
+        this.target = target;
+        this.length = 0;
+        this.separatorNeeded = false;
+
+        try {
+            serializer.write(value, this);
+            flush(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.target = null;
+            this.length = 0;
+        }
+    }
+
+    @Override
+    public void startObject() {
+        startValue();
+        writeEvent('{');
+        separatorNeeded = false;
+    }
+
+    @Override
+    public void field(CharSequence identifier) {
+        startValue();
+        try {
+            writeString(identifier);
+            writeCharacter(':');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        separatorNeeded = false;
+    }
+
+    @Override
+    public void endObject() {
+        checkWriting();
+        writeEvent('}');
+        separatorNeeded = true;
+    }
+
+    @Override
+    public void startArray() {
+        startValue();
+        writeEvent('[');
+        separatorNeeded = false;
+    }
+
+    @Override
+    public void endArray() {
+        checkWriting();
+        writeEvent(']');
+        separatorNeeded = true;
+    }
+
+    @Override
+    public void value(CharSequence text) {
+        value((Object) text);
+    }
+
+    @Override
+    public void value(int number) {
+        startValue();
+        try {
+            writeLong(number);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        separatorNeeded = true;
+    }
+
+    @Override
+    public void value(long number) {
+        startValue();
+        try {
+            writeLong(number);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        separatorNeeded = true;
+    }
+
+    @Override
+    public void value(double number) {
+        startValue();
+        try {
+            writeDouble(number);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        separatorNeeded = true;
+    }
+
+    @Override
+    public void value(BigDecimal number) {
+        value((Object) number);
+    }
+
+    @Override
+    public void value(boolean bool) {
+        value((Object) bool);
+    }
+
+    @Override
+    public void nullValue() {
+        value((Object) null);
+    }
+
+    /*
+     * Writes any value that write(Object, ...) accepts as the next value of the document.
+     */
+    public void value(Object value) {
+        startValue();
+        try {
+            writeValue(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        separatorNeeded = true;
+    }
+
+    private void startValue() {
+        checkWriting();
+
+        if (separatorNeeded) {
+            writeEvent(',');
+        }
+    }
+
+    private void checkWriting() {
+        if (target == null) {
+            throw new IllegalStateException("A JsonWriter can only be written to by a JsonSerializer");
+        }
+    }
+
+    private void writeEvent(char character) {
+        try {
+            writeCharacter(character);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        switch (value) {
+            case null -> writeRaw("null");
+            case CharSequence text -> writeString(text);
+            case Boolean bool -> writeRaw(bool ? "true" : "false");
+            case Integer number -> writeLong(number);
+            case Long number -> writeLong(number);
+            case Short number -> writeLong(number);
+            case Byte number -> writeLong(number);
+            case Double number -> writeDouble(number);
+            case Float number -> writeFloat(number);
+            case Number number -> writeRaw(number.toString());
+            case Character character -> writeString(String.valueOf(character));
+            case Enum<?> constant -> writeString(constant.name());
+            case JsonObject jsonObject -> writeObject(jsonObject);
+            case JsonNode jsonNode -> writeObject(new JsonNode[]{jsonNode});
+            case IntList list -> writeIntList(list);
+            case LongList list -> writeLongList(list);
+            case IntegralList list -> writeIntegralList(list);
+            case DoubleList list -> writeDoubleList(list);
+            case List<?> list -> writeList(list);
+            default -> throw new IllegalArgumentException("Objects of type " + value.getClass().getName() + " can't be written as JSON");
+        }
+    }
+
+    private void writeObject(JsonObject jsonObject) throws IOException {
+        var nodes = jsonObject.jsonNodes();
+
+        if (nodes == null) {
+            writeRaw("{}");
+        } else {
+            writeObject(nodes);
+        }
+    }
+
+    private void writeObject(JsonNode[] nodes) throws IOException {
+        writeCharacter('{');
+
+        for (var i = 0; i < nodes.length; i++) {
+            if (i > 0) {
+                writeCharacter(',');
+            }
+            writeString(nodes[i].identifier());
+            writeCharacter(':');
+            writeValue(nodes[i].content());
+        }
+
+        writeCharacter('}');
+    }
+
+    private void writeList(List<?> list) throws IOException {
+        writeCharacter('[');
+
+        var first = true;
+        for (var element : list) {
+            if (!first) {
+                writeCharacter(',');
+            }
+            writeValue(element);
+            first = false;
+        }
+
+        writeCharacter(']');
+    }
+
+    private void writeIntList(IntList list) throws IOException {
+        writeCharacter('[');
+
+        for (var i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                writeCharacter(',');
+            }
+            writeLong(list.getInt(i));
+        }
+
+        writeCharacter(']');
+    }
+
+    private void writeLongList(LongList list) throws IOException {
+        writeCharacter('[');
+
+        for (var i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                writeCharacter(',');
+            }
+            writeLong(list.getLong(i));
+        }
+
+        writeCharacter(']');
+    }
+
+    private void writeIntegralList(IntegralList list) throws IOException {
+        writeCharacter('[');
+
+        for (var i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                writeCharacter(',');
+            }
+            writeLong(list.getLong(i));
+        }
+
+        writeCharacter(']');
+    }
+
+    private void writeDoubleList(DoubleList list) throws IOException {
+        writeCharacter('[');
+
+        for (var i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                writeCharacter(',');
+            }
+            writeDouble(list.getDouble(i));
+        }
+
+        writeCharacter(']');
+    }
+
+    private void writeString(CharSequence text) throws IOException {
+        writeCharacter('"');
+
+        for (var i = 0; i < text.length(); i++) {
+            if (length + MAX_ESCAPED_CHARACTER_LENGTH > buffer.length) {
+                flush(false);
+            }
+
+            var character = text.charAt(i);
+
+            switch (character) {
+                case '"', '\\' -> {
+                    buffer[length++] = '\\';
+                    buffer[length++] = character;
+                }
+                case '\b' -> writeEscape('b');
+                case '\f' -> writeEscape('f');
+                case '\n' -> writeEscape('n');
+                case '\r' -> writeEscape('r');
+                case '\t' -> writeEscape('t');
+                default -> {
+                    if (character < 0x20) {
+                        buffer[length++] = '\\';
+                        buffer[length++] = 'u';
+                        buffer[length++] = '0';
+                        buffer[length++] = '0';
+                        buffer[length++] = HEX_DIGITS[character >> 4];
+                        buffer[length++] = HEX_DIGITS[character & 0xF];
+                    } else {
+                        buffer[length++] = character;
+                    }
+                }
+            }
+        }
+
+        writeCharacter('"');
+    }
+
+    private void writeEscape(char escapeCharacter) {
+        buffer[length++] = '\\';
+        buffer[length++] = escapeCharacter;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(Long.toString(value));
+            return;
+        }
+
+        ensureCapacity(20);
+
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+
+        var digits = 1;
+        for (var remainder = value / 10; remainder != 0; remainder /= 10) {
+            digits++;
+        }
+
+        for (var position = length + digits - 1; position >= length; position--) {
+            buffer[position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void writeDouble(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON has no representation for " + value);
+        }
+
+        numberBuffer.setLength(0);
+        writeNumberBuffer(numberBuffer.append(value));
+    }
+
+    private void writeFloat(float value) throws IOException {
+        if (!Float.isFinite(value)) {
+            throw new IllegalArgumentException("JSON has no representation for " + value);
+        }
+
+        numberBuffer.setLength(0);
+        writeNumberBuffer(numberBuffer.append(value));
+    }
+
+    private void writeNumberBuffer(StringBuilder number) throws IOException {
+        ensureCapacity(number.length());
+        number.getChars(0, number.length(), buffer, length);
+        length += number.length();
+    }
+
+    private void writeRaw(String text) throws IOException {
+        for (var i = 0; i < text.length(); i++) {
+            writeCharacter(text.charAt(i));
+        }
+    }
+
+    private void writeCharacter(char character) throws IOException {
+        ensureCapacity(1);
+        buffer[length++] = character;
+    }
+
+    private void ensureCapacity(int characterCount) throws IOException {
+        if (length + characterCount > buffer.length) {
+            flush(false);
+        }
+    }
+
+    /*
+     * A high surrogate at the end of the buffer is kept back until its low surrogate is written,
+     * so byte targets always receive complete characters.
+     */
+    private void flush(boolean finished) throws IOException {
+        var flushLength = !finished && length > 0 && Character.isHighSurrogate(buffer[length - 1]) ? length - 1 : length;
+
+        if (flushLength > 0) {
+            target.write(buffer, flushLength);
+        }
+
+        if (flushLength < length) {
+            buffer[0] = buffer[flushLength];
+            length = 1;
+        } else {
+            length = 0;
+        }
+    }
+
+    private int encode(char[] characters, int characterCount) {
+        var byteCount = 0;
+
+        for (var i = 0; i < characterCount; i++) {
+            var character = characters[i];
+
+            if (character < 0x80) {
+                encodedBuffer[byteCount++] = (byte) character;
+            } else if (character < 0x800) {
+                encodedBuffer[byteCount++] = (byte) (0xC0 | character >> 6);
+                encodedBuffer[byteCount++] = (byte) (0x80 | character & 0x3F);
+            } else if (Character.isHighSurrogate(character) && i + 1 < characterCount && Character.isLowSurrogate(characters[i + 1])) {
+                var codePoint = Character.toCodePoint(character, characters[++i]);
+                encodedBuffer[byteCount++] = (byte) (0xF0 | codePoint >> 18);
+                encodedBuffer[byteCount++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                encodedBuffer[byteCount++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                encodedBuffer[byteCount++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(character)) {
+                encodedBuffer[byteCount++] = '?';
+            } else {
+                encodedBuffer[byteCount++] = (byte) (0xE0 | character >> 12);
+                encodedBuffer[byteCount++] = (byte) (0x80 | character >> 6 & 0x3F);
+                encodedBuffer[byteCount++] = (byte) (0x80 | character & 0x3F);
+            }
+        }
+
+        return byteCount;
+    }
+
+    @FunctionalInterface
+    private interface Target {
+        void write(char[] characters, int characterCount) throws IOException;
+    }
+}
@@ -0,0 +1,130 @@
+package nl.kooi.jsonparser.codec;
+
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class JsonCodecProcessorTest {
+
+    enum Role {ADMIN, USER}
+
+    @JsonCodec
+    record Address(String city, List<String> lines) {
+    }
+
+    @JsonCodec
+    record Person(String name, int age, Long id, double height, float weight, boolean married, char initial,
+                  Role role, BigDecimal balance, Address address, List<Address> previousAddresses,
+                  List<List<Integer>> matrix, Person partner) {
+    }
+
+    @JsonCodec
+    record Sizes(byte small, Short medium, int number, long big, char letter) {
+    }
+
+    private static final String JSON = """
+            {
+              "name": "Laurens \\"L\\"",
+              "unknown": {"nested": [1, {"deeper": true}]},
+              "age": 36,
+              "id": 12345678901,
+              "height": 1.85,
+              "weight": 80.5,
+              "married": true,
+              "initial": "L",
+              "role": "ADMIN",
+              "balance": 12.50,
+              "address": {"city": "Utrecht", "lines": ["Street 1", null]},
+              "previousAddresses": [{"city": "Amsterdam"}, null],
+              "matrix": [[1, 2], [3]],
+              "partner": {"name": "Andreas", "age": null}
+            }""";
+
+    @Test
+    void parseWithAGeneratedCodec() {
+        var person = JsonCodecProcessorTest_PersonJsonCodec.parse(JSON);
+
+        assertThat(person.name()).isEqualTo("Laurens \"L\"");
+        assertThat(person.age()).isEqualTo(36);
+        assertThat(person.id()).isEqualTo(12345678901L);
+        assertThat(person.height()).isEqualTo(1.85);
+        assertThat(person.weight()).isEqualTo(80.5f);
+        assertThat(person.married()).isTrue();
+        assertThat(person.initial()).isEqualTo('L');
+        assertThat(person.role()).isEqualTo(Role.ADMIN);
+        assertThat(person.balance()).isEqualTo(new BigDecimal("12.50"));
+        assertThat(person.address()).isEqualTo(new Address("Utrecht", java.util.Arrays.asList("Street 1", null)));
+        assertThat(person.previousAddresses()).containsExactly(new Address("Amsterdam", null), null);
+        assertThat(person.matrix()).isEqualTo(List.of(List.of(1, 2), List.of(3)));
+        assertThat(person.partner()).isEqualTo(new Person("Andreas", 0, null, 0, 0, false, '\0', null, null, null, null, null, null));
+
+        assertThat(JsonCodecProcessorTest_PersonJsonCodec.parse(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)))).isEqualTo(person);
+    }
+
+    @Test
+    void writeWithAGeneratedCodec() {
+        var person = JsonCodecProcessorTest_PersonJsonCodec.parse(JSON);
+        var json = JsonCodecProcessorTest_PersonJsonCodec.toJson(person);
+
+        assertThat(json).startsWith("""
+                {"name":"Laurens \\"L\\"","age":36,"id":12345678901,"height":1.85,"weight":80.5,"married":true,\
+                "initial":"L","role":"ADMIN","balance":12.50,"address":{"city":"Utrecht","lines":["Street 1",null]},\
+                "previousAddresses":[{"city":"Amsterdam","lines":null},null],"matrix":[[1,2],[3]],"partner":{"name":"Andreas\"""");
+
+        var output = new ByteArrayOutputStream();
+        JsonCodecProcessorTest_PersonJsonCodec.write(person, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(JsonCodecProcessorTest_PersonJsonCodec.parse(output.toByteArray())).isEqualTo(person);
+    }
+
+    @Test
+    void parseSomethingElseThanAnObject() {
+        assertThatThrownBy(() -> JsonCodecProcessorTest_AddressJsonCodec.parse("[1, 2]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(JsonCodecProcessorTest_AddressJsonCodec.parse("null")).isNull();
+    }
+
+    @Test
+    void numbersThatDontFitAreRefusedLikeTheRuntimeBinding() {
+        assertThat(JsonCodecProcessorTest_SizesJsonCodec.parse("""
+                {"small": -128, "medium": 32767, "number": 3, "big": 9223372036854775807, "letter": "x"}"""))
+                .isEqualTo(new Sizes((byte) -128, (short) 32767, 3, Long.MAX_VALUE, 'x'));
+
+        for (var json : List.of("{\"small\": 300}", "{\"medium\": 40000}", "{\"number\": 3000000000}",
+                "{\"big\": 9223372036854775808}", "{\"number\": 1.5}", "{\"number\": \"3\"}", "{\"letter\": \"xy\"}")) {
+            assertThatThrownBy(() -> JsonCodecProcessorTest_SizesJsonCodec.parse(json))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Can't bind");
+            assertThatThrownBy(() -> JsonObjectParser.parse(json, Sizes.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Can't bind");
+        }
+
+        assertThatThrownBy(() -> JsonCodecProcessorTest_SizesJsonCodec.parse("{\"small\": 300}")).hasMessage("Can't bind 300 to byte");
+    }
+
+    @Test
+    void valuesOfAnotherTypeAreRefusedLikeTheRuntimeBinding() {
+        for (var json : List.of("{\"name\": 123}", "{\"name\": true}", "{\"role\": 1}", "{\"role\": \"OTHER\"}",
+                "{\"married\": \"yes\"}", "{\"height\": \"tall\"}", "{\"weight\": false}", "{\"balance\": \"12.50\"}")) {
+            assertThatThrownBy(() -> JsonCodecProcessorTest_PersonJsonCodec.parse(json))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Can't bind");
+            assertThatThrownBy(() -> JsonObjectParser.parse(json, Person.class))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Can't bind");
+        }
+
+        assertThatThrownBy(() -> JsonCodecProcessorTest_PersonJsonCodec.parse("{\"name\": 123}")).hasMessage("Can't bind 123 to java.lang.String");
+        assertThat(JsonCodecProcessorTest_PersonJsonCodec.parse("{\"name\": null, \"role\": \"USER\"}").role()).isEqualTo(Role.USER);
+    }
+}
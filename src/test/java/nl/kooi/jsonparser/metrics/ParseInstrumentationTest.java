@@ -0,0 +1,157 @@
+package nl.kooi.jsonparser.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl.kooi.jsonparser.parser.JsonArrayParser;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import nl.kooi.jsonparser.parser.NdJsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class ParseInstrumentationTest {
+
+    private static final byte[] JSON = """
+            {"name": "Laurens", "address": {"city": "Utrecht", "lines": ["Street 1", "Floor 2"]}, "age": 36}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    @AfterEach
+    void removeListener() {
+        ParseInstrumentation.removeListener();
+    }
+
+    @Test
+    void listenerReceivesEveryParse() {
+        var parses = new ArrayList<String>();
+        ParseInstrumentation.setListener(new ParseListener() {
+            @Override
+            public void parsed(String entryPoint, long inputSize, long elementCount, int maxDepth, long durationNanos) {
+                parses.add(entryPoint + " " + inputSize + " " + elementCount + " " + maxDepth);
+            }
+
+            @Override
+            public void failed(String entryPoint, long inputSize, Throwable failure, long durationNanos) {
+                parses.add(entryPoint + " failed: " + failure.getClass().getSimpleName());
+            }
+        });
+
+        JsonObjectParser.parse(JSON);
+        JsonObjectParser.parse(new String(JSON, StandardCharsets.UTF_8));
+        JsonObjectParser.parseLazy(JSON).get("address");
+        JsonObjectParser.parse(JSON, List.of("/address/city"));
+        JsonArrayParser.parse("[1, [2, {}], null]");
+        NdJsonParser.parse("{\"a\": 1}\n{\"b\": [true]}\n").toList();
+        assertThatThrownBy(() -> JsonObjectParser.parse(failingStream())).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(parses).containsExactly(
+                "object/byte[] %d 8 3".formatted(JSON.length),
+                "object/String %d 8 3".formatted(JSON.length),
+                "object/byte[] (lazy) %d -1 -1".formatted(JSON.length),
+                "object/byte[] (paths) %d 3 2".formatted(JSON.length),
+                "array/String 18 6 3",
+                "lines/String 23 5 2",
+                "unknown/InputStream failed: UncheckedIOException");
+    }
+
+    @Test
+    void pathsReportTheSizeOfTheFile(@TempDir Path directory) throws IOException {
+        var parses = new ArrayList<String>();
+        ParseInstrumentation.setListener(new ParseListener() {
+            @Override
+            public void parsed(String entryPoint, long inputSize, long elementCount, int maxDepth, long durationNanos) {
+                parses.add(entryPoint + " " + inputSize);
+            }
+
+            @Override
+            public void failed(String entryPoint, long inputSize, Throwable failure, long durationNanos) {
+                parses.add(entryPoint + " failed");
+            }
+        });
+
+        var file = Files.write(directory.resolve("array.json"), "[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+
+        JsonArrayParser.parse(file);
+        JsonArrayParser.parseParallel(file);
+
+        assertThat(parses).containsExactly("array/Path 9", "array/Path (parallel) 9");
+    }
+
+    @Test
+    void statisticsCountParsesAndFailures() {
+        var statistics = new ParseStatistics();
+        ParseInstrumentation.setListener(statistics);
+
+        for (var i = 0; i < 10; i++) {
+            JsonObjectParser.parse(JSON);
+        }
+        assertThatThrownBy(() -> JsonObjectParser.parse(failingStream())).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(statistics.documents()).isEqualTo(10);
+        assertThat(statistics.failures()).isEqualTo(1);
+        assertThat(statistics.inputSize()).isEqualTo(10L * JSON.length);
+        assertThat(statistics.elements()).isEqualTo(80);
+        assertThat(statistics.maxDepth()).isEqualTo(3);
+        assertThat(statistics.depthHistogram()[3]).isEqualTo(10);
+        assertThat(Arrays.stream(statistics.latencyHistogram()).sum()).isEqualTo(11);
+        assertThat(statistics.latencyPercentile(99)).isPositive().isLessThan(Duration.ofSeconds(10));
+
+        JsonObjectParser.parseLazy(JSON).get("age");
+        NdJsonParser.parse("{\"a\": 1}\n{\"b\": 2}\n{\"c\": 3}").toList();
+        assertThat(statistics.nestedParses()).isEqualTo(4);
+
+        statistics.reset();
+        assertThat(statistics.documents()).isZero();
+        assertThat(statistics.nestedParses()).isZero();
+        assertThat(statistics.latencyPercentile(50)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    void parsesAreRecordedAsFlightRecorderEvents(@TempDir Path directory) throws IOException {
+        var recordingFile = directory.resolve("parse.jfr");
+
+        try (var recording = new Recording()) {
+            recording.enable("nl.kooi.jsonparser.Parse");
+            recording.start();
+
+            JsonObjectParser.parse(JSON);
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        var events = RecordingFile.readAllEvents(recordingFile).stream()
+                .filter(event -> event.getEventType().getName().equals("nl.kooi.jsonparser.Parse"))
+                .toList();
+
+        assertThat(events).hasSize(1);
+        assertThat(events).extracting(event -> event.getString("entryPoint")).containsExactly("object/byte[]");
+        assertThat(events).extracting(event -> event.getLong("inputSize")).containsExactly((long) JSON.length);
+        assertThat(events).extracting(event -> event.getLong("elementCount")).containsExactly(8L);
+        assertThat(events).extracting(event -> event.getInt("maxDepth")).containsExactly(3);
+        assertThat(events).extracting(RecordedEvent::getDuration).allMatch(duration -> !duration.isNegative());
+    }
+
+    private static InputStream failingStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        };
+    }
+}
@@ -0,0 +1,253 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class AsyncJsonParserTest {
+
+    private static final AtomicInteger ACTIVE = new AtomicInteger();
+    private static final AtomicInteger MAX_ACTIVE = new AtomicInteger();
+    private static final CountDownLatch BINDING_STARTED = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE_BINDING = new CountDownLatch(1);
+
+    /*
+     * Records are constructed while their document is parsed, with the state taken.
+     */
+    record Slow(boolean slow) {
+        Slow {
+            MAX_ACTIVE.accumulateAndGet(ACTIVE.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ACTIVE.decrementAndGet();
+        }
+    }
+
+    record Blocking(boolean blocked) {
+        Blocking {
+            BINDING_STARTED.countDown();
+            try {
+                RELEASE_BINDING.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    void parseAllDocumentsInOrder(@TempDir Path directory) throws Exception {
+        var file = Files.writeString(directory.resolve("person.json"), "{\"id\": -1, \"name\": \"file\"}");
+        var documents = new ArrayList<Object>();
+
+        IntStream.range(0, 10_000).forEach(id -> documents.add(id % 2 == 0 ?
+                "{\"id\": %d, \"name\": \"string\"}".formatted(id) :
+                "{\"id\": %d, \"name\": \"bytes\"}".formatted(id).getBytes(StandardCharsets.UTF_8)));
+        documents.add(file);
+        documents.add(new ByteArrayInputStream("{\"id\": -2, \"name\": \"stream\"}".getBytes(StandardCharsets.UTF_8)));
+
+        try (var parser = new AsyncJsonParser(4)) {
+            var objects = parser.parseAllAsync(documents).get();
+
+            assertThat(objects).hasSize(10_002);
+            assertThat(objects).extracting(object -> object.get("id")).startsWith(0, 1, 2, 3).endsWith(9_999, -1, -2);
+            assertThat(objects.get(2).get("name")).isEqualTo("string");
+            assertThat(objects.get(3).get("name")).isEqualTo("bytes");
+            assertThat(objects.get(10_000).get("name")).isEqualTo("file");
+        }
+    }
+
+    @Test
+    void parseSingleDocuments() throws Exception {
+        record Person(String name, int age) {
+        }
+
+        try (var parser = new AsyncJsonParser()) {
+            var fromString = parser.parseAsync("{\"name\": \"Laurens\"}");
+            var fromStream = parser.parseAsync(new ByteArrayInputStream("{\"age\": 36}".getBytes(StandardCharsets.UTF_8)));
+            var bound = parser.parseAsync("{\"name\": \"Laurens\", \"age\": 36}".getBytes(StandardCharsets.UTF_8), Person.class);
+
+            assertThat(fromString.get().get("name")).isEqualTo("Laurens");
+            assertThat(fromStream.get().get("age")).isEqualTo(36);
+            assertThat(bound.get()).isEqualTo(new Person("Laurens", 36));
+        }
+    }
+
+    @Test
+    void concurrencyIsBounded() throws Exception {
+        var futures = new ArrayList<CompletableFuture<Slow>>();
+
+        try (var parser = new AsyncJsonParser(2)) {
+            for (var i = 0; i < 20; i++) {
+                futures.add(parser.parseAsync("{\"slow\": true}".getBytes(StandardCharsets.UTF_8), Slow.class));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get().slow()).isTrue();
+            }
+        }
+
+        assertThat(MAX_ACTIVE.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void streamsAreOnlyReadAheadOfTheParsesUpToALimit() throws Exception {
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+        var futures = new ArrayList<CompletableFuture<JsonObject>>();
+
+        try (var parser = new AsyncJsonParser(2)) {
+            for (var i = 0; i < 20; i++) {
+                futures.add(parser.parseAsync(slowStream(active, maxActive)));
+            }
+
+            for (var future : futures) {
+                assertThat(future.get().get("slow")).isEqualTo(true);
+            }
+        }
+
+        assertThat(maxActive.get()).isBetween(1, 4);
+    }
+
+    @Test
+    void aBlockedStreamDoesNotHoldAState() throws Exception {
+        var streamStarted = new CountDownLatch(1);
+        var releaseStream = new CountDownLatch(1);
+
+        try (var parser = new AsyncJsonParser(1)) {
+            var blockedParse = parser.parseAsync(blockingStream(streamStarted, releaseStream));
+            streamStarted.await();
+
+            assertThat(parser.parseAsync("{\"id\": 1}").get().get("id")).isEqualTo(1);
+            assertThat(blockedParse).isNotDone();
+
+            releaseStream.countDown();
+            assertThat(blockedParse.get().get("blocked")).isEqualTo(true);
+        }
+    }
+
+    @Test
+    void filesAreOnlyReadAheadOfTheParsesUpToALimit(@TempDir Path directory) throws Exception {
+        var files = new ArrayList<Path>();
+
+        for (var i = 0; i < 50; i++) {
+            files.add(Files.writeString(directory.resolve(i + ".json"), "{\"id\": %d}".formatted(i)));
+        }
+
+        try (var parser = new AsyncJsonParser(1)) {
+            var blockingParse = parser.parseAsync("{\"blocked\": true}".getBytes(StandardCharsets.UTF_8), Blocking.class);
+            BINDING_STARTED.await();
+
+            var fileParses = files.stream().map(parser::parseAsync).toList();
+            Thread.sleep(500);
+
+            for (var file : files) {
+                Files.delete(file);
+            }
+            RELEASE_BINDING.countDown();
+
+            assertThat(blockingParse.get().blocked()).isTrue();
+
+            var readBeforeDeleted = fileParses.stream()
+                    .filter(future -> !future.handle((object, failure) -> failure != null).join())
+                    .count();
+
+            assertThat(readBeforeDeleted).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Test
+    void failuresCompleteTheFutureExceptionally(@TempDir Path directory) {
+        try (var parser = new AsyncJsonParser()) {
+            assertThatThrownBy(() -> parser.parseAsync(directory.resolve("missing.json")).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(UncheckedIOException.class);
+
+            assertThatThrownBy(() -> parser.parseAllAsync(List.of("{}", 42)).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThatThrownBy(() -> new AsyncJsonParser(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream slowStream(AtomicInteger active, AtomicInteger maxActive) {
+        var json = new ByteArrayInputStream("{\"slow\": true}".getBytes(StandardCharsets.UTF_8));
+
+        return new InputStream() {
+            private boolean started;
+
+            @Override
+            public int read() {
+                return json.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (!started) {
+                    started = true;
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    sleep();
+                }
+
+                var read = json.read(buffer, offset, length);
+
+                if (read == -1) {
+                    active.decrementAndGet();
+                }
+                return read;
+            }
+        };
+    }
+
+    private static InputStream blockingStream(CountDownLatch started, CountDownLatch release) {
+        var json = new ByteArrayInputStream("{\"blocked\": true}".getBytes(StandardCharsets.UTF_8));
+
+        return new InputStream() {
+            @Override
+            public int read() {
+                return json.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return json.read(buffer, offset, length);
+            }
+        };
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
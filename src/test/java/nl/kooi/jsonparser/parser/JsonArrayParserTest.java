@@ -1,13 +1,28 @@
 package nl.kooi.jsonparser.parser;
 
+import nl.kooi.jsonparser.json.DoubleList;
+import nl.kooi.jsonparser.json.IntList;
+import nl.kooi.jsonparser.json.IntegralList;
+import nl.kooi.jsonparser.json.JsonArrayBuilder;
 import nl.kooi.jsonparser.json.JsonNode;
 import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.json.LongList;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import nl.kooi.jsonparser.writer.JsonWriter;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 public class JsonArrayParserTest {
@@ -82,6 +97,16 @@ public class JsonArrayParserTest {
                         Collections.emptyList()));
     }
 
+    @Test
+    void aDeeplyNestedArray() {
+        var result = JsonArrayParser.parse("""
+                [[1, [2, [3, [4]]]], 5]
+                        """);
+
+        assertThat(result).isNotNull().isEqualTo(
+                List.of(List.of(1, List.of(2, List.of(3, List.of(4)))), 5));
+    }
+
     @Test
     void aStringArray() {
         var result = JsonArrayParser.parse("""
@@ -126,4 +151,134 @@ public class JsonArrayParserTest {
 
         assertThat(result).isNotNull().hasSize(3).isEqualTo(List.of(true, false, true));
     }
+
+    @Test
+    void aLargeNumberArray() {
+        var numbers = IntStream.range(0, 10_000).boxed().toList();
+
+        var result = JsonArrayParser.parse(numbers.toString());
+
+        assertThat(result).isEqualTo(numbers);
+    }
+
+    @Test
+    void mutableStateGivesTheSameResult() {
+        var json = """
+                [1, true, "hello", -2, -3.86, false, "world", null, [[], [1, 2]],
+                  {
+                    "name": "Andreas",
+                    "sign": "Scorpius"
+                  }]
+                  """;
+
+        var result = JsonArrayParser.parse(json, new MutableWriterState());
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(JsonArrayParser.parse(json));
+    }
+
+    @Test
+    void numberArraysArePrimitiveBacked() {
+        var result = JsonArrayParser.parse("""
+                [[1, 2, 3], [9876543210, 9876543211], [1.5, -2.25], [1, 9876543210], [1, "a"], []]
+                """, new MutableWriterState());
+
+        assertThat(result.get(0)).isInstanceOf(IntList.class).isEqualTo(List.of(1, 2, 3));
+        assertThat(((IntList) result.get(0)).getInt(2)).isEqualTo(3);
+        assertThat(result.get(1)).isInstanceOf(LongList.class).isEqualTo(List.of(9876543210L, 9876543211L));
+        assertThat(result.get(2)).isInstanceOf(DoubleList.class).isEqualTo(List.of(1.5, -2.25));
+        assertThat(result.get(3)).isInstanceOf(IntegralList.class).isEqualTo(List.of(1, 9876543210L));
+        assertThat(((List<?>) result.get(3)).get(0)).isInstanceOf(Integer.class);
+        assertThat(result.get(4)).isEqualTo(List.of(1, "a"));
+        assertThat(result.get(5)).isEqualTo(List.of());
+    }
+
+    @Test
+    void integersAndLongsAreMixedInEitherOrder() {
+        var result = JsonArrayParser.parse("[9876543210, -1, 2, 9876543211]", new MutableWriterState());
+
+        assertThat(result).isInstanceOf(IntegralList.class).containsExactly(9876543210L, -1, 2, 9876543211L);
+        assertThat(((IntegralList) (List<?>) result).getLong(1)).isEqualTo(-1L);
+        assertThat(JsonWriter.toJson(result)).isEqualTo("[9876543210,-1,2,9876543211]");
+
+        var boxed = new JsonArrayBuilder().add(1L).add(2).add(9876543210L).build();
+        assertThat(boxed).containsExactly(1L, 2, 9876543210L);
+        assertThat(boxed.get(0)).isInstanceOf(Long.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void arraysAreReadOnlyWhateverTheirContent() {
+        var result = JsonArrayParser.parse("""
+                [[1, 2], [1, 9876543210], [1, "a"], []]
+                """, new MutableWriterState());
+
+        for (var array : result) {
+            assertThatThrownBy(() -> ((List<Object>) array).add(3))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Test
+    void parseFromAMemoryMappedFile(@TempDir Path directory) throws IOException {
+        var json = """
+                [{"name": "Zoë"}, "東京", "😀", 1, 2.5, true, null, [1, 2, 3]]""";
+        var file = Files.writeString(directory.resolve("array.json"), json);
+
+        var expected = JsonArrayParser.parse(json, new MutableWriterState());
+
+        assertThat(JsonArrayParser.parse(file)).isEqualTo(expected);
+
+        var treeBuilder = new TreeBuildingVisitor();
+        MutableStateParser.parse(file, new MutableWriterState(), treeBuilder, 3);
+
+        assertThat(treeBuilder.result()).isEqualTo(expected);
+    }
+
+    @Test
+    void parseALargeArrayInParallel() {
+        var json = IntStream.range(0, 20_000)
+                .mapToObj(i -> "{\"id\": %d, \"text\": \"a ], b } \\\" c, [%d\", \"tags\": [1, [2]]}".formatted(i, i))
+                .collect(Collectors.joining(",\n  ", "[\n  ", "\n]"));
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        var result = JsonArrayParser.parseParallel(bytes);
+
+        assertThat(result).hasSize(20_000).isEqualTo(JsonArrayParser.parse(bytes));
+        assertThat(((JsonObject) result.get(19_999)).get("text")).isEqualTo("a ], b } \" c, [19999");
+    }
+
+    @Test
+    void parseALargeArrayFileInParallel(@TempDir Path directory) throws IOException {
+        var json = IntStream.range(0, 20_000)
+                .mapToObj(i -> "{\"id\": %d, \"text\": \"a ], b } \\\" c, [%d\", \"tags\": [1, [2]], \"city\": \"Zoë\"}".formatted(i, i))
+                .collect(Collectors.joining(",\n  ", "\n [\n  ", "\n]\n"));
+        var file = Files.writeString(directory.resolve("large.json"), json);
+        var expected = JsonArrayParser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(JsonArrayParser.parseParallel(file)).hasSize(20_000).isEqualTo(expected);
+
+        var windowedResult = ParallelArrayParser.parse(file, 4096, 128);
+
+        assertThat(windowedResult).isEqualTo(expected);
+        assertThat(((JsonObject) windowedResult.get(19_999)).get("text")).isEqualTo("a ], b } \" c, [19999");
+    }
+
+    @Test
+    void parseSmallArrayFilesInParallel(@TempDir Path directory) throws IOException {
+        var numbers = Files.writeString(directory.resolve("numbers.json"), " [1, 2, 3] ");
+        var mixed = Files.writeString(directory.resolve("mixed.json"), "[\"a\", null, true, [], {}]");
+
+        assertThat(JsonArrayParser.parseParallel(Files.writeString(directory.resolve("empty.json"), "[ ]"))).isEmpty();
+        assertThat(JsonArrayParser.parseParallel(numbers)).isInstanceOf(IntList.class).isEqualTo(List.of(1, 2, 3));
+        assertThat(ParallelArrayParser.parse(mixed, 64, 64))
+                .isEqualTo(JsonArrayParser.parse("[\"a\", null, true, [], {}]", new MutableWriterState()));
+    }
+
+    @Test
+    void parseSmallArraysInParallel() {
+        assertThat(JsonArrayParser.parseParallel("[]".getBytes())).isEmpty();
+        assertThat(JsonArrayParser.parseParallel(" [1, 2, 3] ".getBytes())).isInstanceOf(IntList.class).isEqualTo(List.of(1, 2, 3));
+        assertThat(JsonArrayParser.parseParallel("[\"a\", null, true, [], {}]".getBytes()))
+                .isEqualTo(JsonArrayParser.parse("[\"a\", null, true, [], {}]", new MutableWriterState()));
+    }
 }
@@ -2,12 +2,24 @@ package nl.kooi.jsonparser.parser;
 
 import nl.kooi.jsonparser.json.JsonNode;
 import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
 import org.junit.jupiter.api.Test;
 
-import java.util.ArrayList;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 
@@ -214,6 +226,24 @@ class JsonObjectParserTest {
         assertThat(nestedObject2.jsonNodes()[1].content()).isEqualTo(32);
     }
 
+    @Test
+    void nestedObjectWithTokenCharactersInText() {
+        var result = JsonObjectParser.parse("""
+                {
+                  "person": {
+                    "name": "}{]["
+                  },
+                  "age": 36
+                }""");
+
+        assertThat(result).isNotNull();
+        assertThat(result.jsonNodes().length).isEqualTo(2);
+        assertThat(result.jsonNodes()[0].identifier()).isEqualTo("person");
+        assertThat(((JsonObject) result.jsonNodes()[0].content()).jsonNodes()[0].content()).isEqualTo("}{][");
+        assertThat(result.jsonNodes()[1].identifier()).isEqualTo("age");
+        assertThat(result.jsonNodes()[1].content()).isEqualTo(36);
+    }
+
     @Test
     void anArrayFieldWithEmptyArray() {
         var result = JsonObjectParser.parse("""
@@ -265,9 +295,9 @@ class JsonObjectParserTest {
         assertThat(result).isNotNull();
         assertThat(result.jsonNodes().length).isEqualTo(1);
         assertThat(result.jsonNodes()[0].identifier()).isEqualTo("children");
-        assertThat(result.jsonNodes()[0].content()).isInstanceOf(ArrayList.class);
+        assertThat(result.jsonNodes()[0].content()).isInstanceOf(List.class);
 
-        var content = (ArrayList) result.jsonNodes()[0].content();
+        var content = (List) result.jsonNodes()[0].content();
 
         assertThat(content).hasSize(8);
         assertThat(content.get(0)).isEqualTo(1);
@@ -356,4 +386,398 @@ class JsonObjectParserTest {
         assertThat(result.jsonNodes()[0].identifier()).isEqualTo("bools");
         assertThat(result.jsonNodes()[0].content()).isEqualTo(List.of(true, false, true));
     }
-}
\ No newline at end of file
+
+    @Test
+    void mutableStateGivesTheSameResult() {
+        var json = """
+                {
+                  "name": "Laurens",
+                  "age": 36,
+                  "weight": 79.85,
+                  "children": [{"name": "Anthony"}, {"name": "Marvin"}],
+                  "person": {
+                    "pet": null,
+                    "married": true,
+                    "empty": {}
+                  }
+                }""";
+
+        var result = JsonObjectParser.parse(json, new MutableWriterState());
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(JsonObjectParser.parse(json));
+    }
+
+    @Test
+    void mutableStateIsReusable() {
+        var state = new MutableWriterState();
+
+        var first = JsonObjectParser.parse("""
+                {"name": "Laurens"}""", state);
+        var second = JsonObjectParser.parse("""
+                {"nameOfSomeoneElse": "Andreas", "age": 32}""", state);
+
+        assertThat(first.jsonNodes()).containsExactly(new JsonNode("name", "Laurens"));
+        assertThat(second.jsonNodes()).containsExactly(new JsonNode("nameOfSomeoneElse", "Andreas"), new JsonNode("age", 32));
+    }
+
+    @Test
+    void mutableStateHandlesEscapedCharacters() {
+        var result = JsonObjectParser.parse("""
+                {"quote": "say \\"hi\\"\\n", "unicode": "caf\\u00e9"}""", new MutableWriterState());
+
+        assertThat(result.jsonNodes()).containsExactly(new JsonNode("quote", "say \"hi\"\n"), new JsonNode("unicode", "café"));
+    }
+
+    @Test
+    void invalidUnicodeEscapesAreRejected() {
+        assertThatThrownBy(() -> JsonObjectParser.parse("""
+                {"s": "\\uZZZZ"}""", new MutableWriterState()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'Z' is not a hexadecimal digit");
+
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"s\": \"\\u00g9\"}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"s\": \"\\u0\uFF10\uFF10\uFF10\"}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not a hexadecimal digit");
+    }
+
+    @Test
+    void invalidEscapesAreRejected() {
+        assertThatThrownBy(() -> JsonObjectParser.parse("""
+                {"s": "a\\xb"}""", new MutableWriterState()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'\\x' is not allowed");
+
+        assertThat(JsonObjectParser.parse("""
+                {"s": "\\"\\\\\\/\\b\\f\\n\\r\\t"}""", new MutableWriterState()).get("s"))
+                .isEqualTo("\"\\/\b\f\n\r\t");
+    }
+
+    @Test
+    void numbersOfDifferentSizes() {
+        var json = """
+                {
+                  "int": -12,
+                  "long": 9876543210,
+                  "huge": 123456789012345678901234567890,
+                  "exponent": 1e9,
+                  "fraction": 2.5E-3
+                }""";
+
+        var expected = new JsonObject(new JsonNode[]{
+                new JsonNode("int", -12),
+                new JsonNode("long", 9876543210L),
+                new JsonNode("huge", new BigDecimal("123456789012345678901234567890")),
+                new JsonNode("exponent", 1e9),
+                new JsonNode("fraction", 2.5E-3)});
+
+        assertThat(JsonObjectParser.parse(json)).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(JsonObjectParser.parse(json, new MutableWriterState())).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void integralsAtTheBoundariesOfLong() {
+        var json = """
+                {
+                  "nineteenDigits": 1000000000000000000,
+                  "max": 9223372036854775807,
+                  "min": -9223372036854775808,
+                  "maxPlusOne": 9223372036854775808,
+                  "minMinusOne": -9223372036854775809,
+                  "twentyDigits": -92233720368547758080
+                }""";
+
+        var expected = new JsonObject(new JsonNode[]{
+                new JsonNode("nineteenDigits", 1000000000000000000L),
+                new JsonNode("max", Long.MAX_VALUE),
+                new JsonNode("min", Long.MIN_VALUE),
+                new JsonNode("maxPlusOne", new BigDecimal("9223372036854775808")),
+                new JsonNode("minMinusOne", new BigDecimal("-9223372036854775809")),
+                new JsonNode("twentyDigits", new BigDecimal("-92233720368547758080"))});
+
+        assertThat(JsonObjectParser.parse(json)).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(JsonObjectParser.parse(json, new MutableWriterState())).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(JsonObjectParser.parse(json.getBytes(StandardCharsets.UTF_8))).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void numbersWithBigDecimalPolicy() {
+        var result = JsonObjectParser.parse("""
+                {
+                  "age": 36,
+                  "weight": 79.85
+                }""", NumberPolicy.INTEGRAL_OR_BIG_DECIMAL);
+
+        assertThat(result.jsonNodes()[0].content()).isEqualTo(36);
+        assertThat(result.jsonNodes()[1].content()).isEqualTo(new BigDecimal("79.85"));
+    }
+
+    @Test
+    void numbersWithDoublePolicy() {
+        var result = JsonObjectParser.parse("""
+                {
+                  "age": 36,
+                  "weight": 79.85
+                }""", new MutableWriterState(NumberPolicy.DOUBLE));
+
+        assertThat(result.jsonNodes()[0].content()).isEqualTo(36.0);
+        assertThat(result.jsonNodes()[1].content()).isEqualTo(79.85);
+    }
+
+    @Test
+    void fieldLookupByIdentifier() {
+        var result = JsonObjectParser.parse("""
+                {
+                  "name": "Laurens",
+                  "pet": null
+                }""");
+
+        assertThat(result.get("name")).isEqualTo("Laurens");
+        assertThat(result.get("unknown")).isNull();
+        assertThat(result.findNode("pet")).contains(new JsonNode("pet", null));
+        assertThat(result.findNode("unknown")).isEmpty();
+    }
+
+    @Test
+    void fieldLookupByIdentifierInAWideObject() {
+        var json = IntStream.range(0, 500)
+                .mapToObj(i -> "\"field" + i + "\": " + i)
+                .collect(Collectors.joining(",", "{", "}"));
+
+        var result = JsonObjectParser.parse(json, new MutableWriterState());
+
+        assertThat(result.jsonNodes()).hasSize(500);
+        assertThat(result.get("field0")).isEqualTo(0);
+        assertThat(result.get("field499")).isEqualTo(499);
+        assertThat(result.get("field500")).isNull();
+    }
+
+    @Test
+    void parseFromUtf8Bytes() {
+        var json = """
+                {"name": "Zoë", "city": "東京", "emoji": "\uD83D\uDE00 😀", "age": 36, "pets": ["cat", null]}""";
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        var expected = JsonObjectParser.parse(json, new MutableWriterState());
+
+        assertThat(JsonObjectParser.parse(bytes)).isEqualTo(expected);
+        assertThat(JsonObjectParser.parse(ByteBuffer.wrap(bytes))).isEqualTo(expected);
+        assertThat(JsonObjectParser.parse(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip())).isEqualTo(expected);
+        assertThat(expected.get("emoji")).isEqualTo("😀 😀");
+    }
+
+    @Test
+    void parseFromAByteRange() {
+        var bytes = "xx{\"name\": \"Laurens\"}yy".getBytes(StandardCharsets.UTF_8);
+        var buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 4).slice();
+
+        assertThat(JsonObjectParser.parse(bytes, 2, bytes.length - 4).jsonNodes()).containsExactly(new JsonNode("name", "Laurens"));
+        assertThat(JsonObjectParser.parse(buffer).jsonNodes()).containsExactly(new JsonNode("name", "Laurens"));
+        assertThat(buffer.position()).isZero();
+
+        var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).position(2).limit(bytes.length - 2).asReadOnlyBuffer();
+
+        assertThat(JsonObjectParser.parse(direct).jsonNodes()).containsExactly(new JsonNode("name", "Laurens"));
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
+    @Test
+    void parseFromAStreamThatSplitsCharacters() {
+        var json = """
+                {"name": "Zoë", "city": "東京", "emoji": "😀", "children": [{"name": "Anthony"}, {"name": "Marvin"}]}""";
+        var oneByteAtATime = new FilterInputStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                return super.read(bytes, offset, Math.min(length, 1));
+            }
+        };
+
+        assertThat(JsonObjectParser.parse(oneByteAtATime)).isEqualTo(JsonObjectParser.parse(json, new MutableWriterState()));
+    }
+
+    @Test
+    void parseFromAReader() {
+        var json = """
+                {"name": "Laurens", "age": 36, "pets": ["cat", null]}""";
+
+        assertThat(JsonObjectParser.parse(new StringReader(json))).isEqualTo(JsonObjectParser.parse(json, new MutableWriterState()));
+    }
+
+    @Test
+    void failingStreamResultsInUncheckedIOException() {
+        var failingStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThatThrownBy(() -> JsonObjectParser.parse(failingStream))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("connection reset");
+    }
+
+    @Test
+    void lazyObjectGivesTheSameResult() {
+        var json = """
+                {
+                  "name": "Zoë \\"the\\" {best}",
+                  "age": 36,
+                  "weight": 79.85,
+                  "children": [{"name": "Anthony"}, {"name": "Marvin"}],
+                  "person": {"pet": null, "married": true, "empty": {}, "list": []},
+                  "last": false
+                }""";
+
+        var result = JsonObjectParser.parseLazy(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(result.get("name")).isEqualTo("Zoë \"the\" {best}");
+        assertThat(((JsonObject) result.get("person")).get("married")).isEqualTo(true);
+        assertThat(result).isEqualTo(JsonObjectParser.parse(json, new MutableWriterState()));
+    }
+
+    @Test
+    void lazyObjectOnlyParsesTheValuesThatAreRead() {
+        var result = JsonObjectParser.parseLazy("""
+                {"invalid": {"number": 12abc}, "id": 7}""".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(result.get("id")).isEqualTo(7);
+        assertThat(result.get("invalid")).isInstanceOf(JsonObject.class);
+        assertThatThrownBy(() -> ((JsonObject) result.get("invalid")).get("number")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void onlyTheSelectedPathsAreParsed() {
+        var json = """
+                {
+                  "user": {"id": 42, "name": "Laurens", "tags": ["a", "}"]},
+                  "items": [{"price": 1.5, "name": "x"}, {"name": "no price"}, {"price": 3, "text": "a \\" ] {"}],
+                  "invalid": {"number": 12abc},
+                  "a/b": {"c": true}
+                }""";
+
+        var result = JsonObjectParser.parse(json, List.of("/user/id", "items.*.price", "/a~1b"));
+
+        assertThat(result).isEqualTo(JsonObjectParser.parse("""
+                {
+                  "user": {"id": 42},
+                  "items": [{"price": 1.5}, {"price": 3}],
+                  "a/b": {"c": true}
+                }""", new MutableWriterState()));
+    }
+
+    @Test
+    void explicitAndWildcardPathsAreCombined() {
+        var json = """
+                {"a": {"x": 1, "y": 2, "z": {"p": 5, "q": 6}}, "b": {"x": 3, "y": 4, "z": {"p": 7, "q": 8}}}""";
+
+        assertThat(JsonObjectParser.parse(json, List.of("/a/x", "/*/y"))).isEqualTo(JsonObjectParser.parse("""
+                {"a": {"x": 1, "y": 2}, "b": {"y": 4}}""", new MutableWriterState()));
+
+        assertThat(JsonObjectParser.parse(json, List.of("a.z.*", "*.z.p", "/b"))).isEqualTo(JsonObjectParser.parse("""
+                {"a": {"z": {"p": 5, "q": 6}}, "b": {"x": 3, "y": 4, "z": {"p": 7, "q": 8}}}""", new MutableWriterState()));
+
+        assertThat(JsonArrayParser.parse("""
+                [{"id": 1, "p": 2}, {"id": 3, "p": 4}]""", List.of("/0/id", "/*/p")))
+                .isEqualTo(JsonArrayParser.parse("""
+                        [{"id": 1, "p": 2}, {"p": 4}]""", new MutableWriterState()));
+    }
+
+    @Test
+    void pathsThatSelectNothing() {
+        var result = JsonObjectParser.parse("""
+                {"user": {"id": 42}}""", List.of("/user/name", "/other"));
+
+        assertThat(result.jsonNodes()).isNull();
+    }
+
+    @Test
+    void identifiersAreSharedBetweenParses() {
+        var json = """
+                {"customerIdentifier": 1, "nested": {"customerIdentifier": 2}}""";
+
+        var identifier = JsonObjectParser.parse(json).jsonNodes()[0].identifier();
+
+        assertThat(JsonObjectParser.parse(json, new MutableWriterState()).jsonNodes()[0].identifier()).isSameAs(identifier);
+        assertThat(((JsonObject) JsonObjectParser.parse(json.getBytes(StandardCharsets.UTF_8)).get("nested")).jsonNodes()[0].identifier()).isSameAs(identifier);
+        assertThat(JsonObjectParser.parseLazy(json.getBytes(StandardCharsets.UTF_8)).jsonNodes()[0].identifier()).isSameAs(identifier);
+        assertThat(JsonObjectParser.parse(json, List.of("/customerIdentifier")).jsonNodes()[0].identifier()).isSameAs(identifier);
+    }
+
+    enum Role {ADMIN, USER}
+
+    record Address(String city, List<String> lines) {
+    }
+
+    record Person(String name, int age, long id, double height, boolean married, Role role, BigDecimal balance,
+                  Address address, List<Address> previousAddresses, List<Integer> numbers, int[] scores,
+                  Person partner, JsonObject extra, Object anything, Character initial) {
+    }
+
+    @Test
+    void bindIntoARecord() {
+        var json = """
+                {
+                  "name": "Laurens",
+                  "unknown": {"nested": [1, {"deeper": true}]},
+                  "age": 36,
+                  "id": 12345678901,
+                  "height": 1.85,
+                  "married": true,
+                  "role": "ADMIN",
+                  "balance": 12.50,
+                  "address": {"city": "Utrecht", "lines": ["Street 1", "Floor 2"]},
+                  "previousAddresses": [{"city": "Amsterdam"}, {"city": "Rotterdam", "unknown": 1}],
+                  "numbers": [1, 2, 3],
+                  "scores": [9, 8],
+                  "partner": {"name": "Andreas", "age": 35.0},
+                  "extra": {"hobby": "running", "days": [1, 5]},
+                  "anything": [1, "two"],
+                  "initial": "L"
+                }""";
+
+        var person = JsonObjectParser.parse(json, Person.class);
+
+        assertThat(person.name()).isEqualTo("Laurens");
+        assertThat(person.age()).isEqualTo(36);
+        assertThat(person.id()).isEqualTo(12345678901L);
+        assertThat(person.height()).isEqualTo(1.85);
+        assertThat(person.married()).isTrue();
+        assertThat(person.role()).isEqualTo(Role.ADMIN);
+        assertThat(person.balance()).isEqualByComparingTo(new BigDecimal("12.5"));
+        assertThat(person.address()).isEqualTo(new Address("Utrecht", List.of("Street 1", "Floor 2")));
+        assertThat(person.previousAddresses()).containsExactly(new Address("Amsterdam", null), new Address("Rotterdam", null));
+        assertThat(person.numbers()).containsExactly(1, 2, 3);
+        assertThat(person.scores()).containsExactly(9, 8);
+        assertThat(person.partner().name()).isEqualTo("Andreas");
+        assertThat(person.partner().age()).isEqualTo(35);
+        assertThat(person.partner().married()).isFalse();
+        assertThat(person.partner().partner()).isNull();
+        assertThat(person.extra()).isEqualTo(JsonObjectParser.parse("""
+                {"hobby": "running", "days": [1, 5]}"""));
+        assertThat(person.anything()).isEqualTo(List.of(1, "two"));
+        assertThat(person.initial()).isEqualTo('L');
+
+        assertThat(JsonObjectParser.parse(json.getBytes(StandardCharsets.UTF_8), Person.class).address()).isEqualTo(person.address());
+        assertThat(JsonObjectParser.parse(json, new MutableWriterState(NumberPolicy.INTEGRAL_OR_BIG_DECIMAL), Person.class).balance())
+                .isEqualTo(new BigDecimal("12.50"));
+        assertThat(JsonObjectParser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Person.class).name()).isEqualTo("Laurens");
+    }
+
+    @Test
+    void bindingErrors() {
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"age\": \"old\"}", Person.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Can't bind \"old\" to int");
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"age\": 1.5}", Person.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"address\": [1]}", Person.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonObjectParser.parse("{\"role\": \"GUEST\"}", Person.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonObjectParser.parse("[1]", Person.class))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
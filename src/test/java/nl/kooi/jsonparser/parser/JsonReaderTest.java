@@ -0,0 +1,179 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import static nl.kooi.jsonparser.parser.state.Token.*;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class JsonReaderTest {
+
+    private static final String JSON = """
+            {
+              "name": "Laurens",
+              "age": 36,
+              "weight": 79.85,
+              "married": true,
+              "pet": null,
+              "children": [{"name": "Anthony"}, {"name": "Marvin"}],
+              "quote": "say \\"hi\\""
+            }""";
+
+    @Test
+    void tokensAndNames() {
+        var reader = new JsonReader(JSON);
+        var tokens = new ArrayList<String>();
+
+        for (var token = reader.nextToken(); token != null; token = reader.nextToken()) {
+            tokens.add(reader.currentName() + ":" + token);
+        }
+
+        assertThat(tokens).containsExactly(
+                "null:BRACE_OPEN",
+                "name:TEXT",
+                "age:NUMBER",
+                "weight:NUMBER",
+                "married:BOOLEAN",
+                "pet:NULL",
+                "children:SQ_BRACKET_OPEN",
+                "null:BRACE_OPEN",
+                "name:TEXT",
+                "null:BRACE_CLOSED",
+                "null:BRACE_OPEN",
+                "name:TEXT",
+                "null:BRACE_CLOSED",
+                "children:SQ_BRACKET_CLOSED",
+                "quote:TEXT",
+                "null:BRACE_CLOSED");
+    }
+
+    @Test
+    void values() {
+        var reader = new JsonReader(JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(nextValue(reader, "name").getText()).isEqualTo("Laurens");
+        assertThat(nextValue(reader, "age").getIntValue()).isEqualTo(36);
+        assertThat(reader.getLongValue()).isEqualTo(36L);
+        assertThat(nextValue(reader, "weight").getDoubleValue()).isEqualTo(79.85);
+        assertThat(reader.getDecimalValue()).isEqualTo(new BigDecimal("79.85"));
+        assertThat(nextValue(reader, "married").getBooleanValue()).isTrue();
+        assertThat(nextValue(reader, "pet").currentToken()).isEqualTo(NULL);
+        assertThat(nextValue(reader, "quote").getText()).isEqualTo("say \"hi\"");
+    }
+
+    @Test
+    void skipChildren() {
+        var reader = new JsonReader(new StringReader(JSON));
+
+        reader.nextToken();
+        while (reader.nextToken() != SQ_BRACKET_OPEN) {
+        }
+
+        assertThat(reader.skipChildren().currentToken()).isEqualTo(SQ_BRACKET_CLOSED);
+        assertThat(reader.currentName()).isEqualTo("children");
+        assertThat(reader.nextToken()).isEqualTo(TEXT);
+        assertThat(reader.currentName()).isEqualTo("quote");
+        assertThat(reader.nextToken()).isEqualTo(BRACE_CLOSED);
+        assertThat(reader.nextToken()).isNull();
+    }
+
+    @Test
+    void anArray() {
+        var reader = new JsonReader("[1, -2.5, \"text\", [], false]");
+        var tokens = new ArrayList<Token>();
+
+        for (var token = reader.nextToken(); token != null; token = reader.nextToken()) {
+            tokens.add(token);
+        }
+
+        assertThat(tokens).containsExactly(SQ_BRACKET_OPEN, NUMBER, NUMBER, TEXT, SQ_BRACKET_OPEN, SQ_BRACKET_CLOSED, BOOLEAN, SQ_BRACKET_CLOSED);
+    }
+
+    @Test
+    void readingAValueOfTheWrongType() {
+        var reader = new JsonReader("{\"name\": \"Laurens\"}");
+        reader.nextToken();
+        reader.nextToken();
+
+        assertThatThrownBy(reader::getIntValue).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void numbersThatDontFit() {
+        var reader = new JsonReader("""
+                {"big": 3000000000, "fraction": 2.5, "whole": 4.0, "huge": 92233720368547758070}""");
+
+        assertThatThrownBy(nextValue(reader, "big")::getIntValue)
+                .isInstanceOf(ArithmeticException.class)
+                .hasMessage("Number doesn't fit an int: 3000000000");
+        assertThat(reader.getLongValue()).isEqualTo(3_000_000_000L);
+
+        assertThatThrownBy(nextValue(reader, "fraction")::getLongValue).isInstanceOf(ArithmeticException.class);
+        assertThat(reader.getDoubleValue()).isEqualTo(2.5);
+
+        assertThat(nextValue(reader, "whole").getIntValue()).isEqualTo(4);
+
+        assertThatThrownBy(nextValue(reader, "huge")::getLongValue).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void invalidUnicodeEscapesAreRejected() {
+        var reader = new JsonReader("""
+                {"text": "\\uZZZZ"}""");
+        reader.nextToken();
+
+        assertThatThrownBy(reader::nextToken)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'Z' is not a hexadecimal digit");
+
+        var fullwidthDigits = new JsonReader("{\"text\": \"\\u\uFF10\uFF10\uFF14\uFF11\"}");
+        fullwidthDigits.nextToken();
+
+        assertThatThrownBy(fullwidthDigits::nextToken)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not a hexadecimal digit");
+    }
+
+    @Test
+    void aTruncatedUnicodeEscapeIsRejected() {
+        var reader = new JsonReader(new StringReader("{\"text\": \"\\u12"));
+        reader.nextToken();
+
+        assertThatThrownBy(reader::nextToken)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unfinished escape");
+    }
+
+    @Test
+    void invalidEscapesAreRejected() {
+        var reader = new JsonReader("""
+                {"text": "a\\xb"}""");
+        reader.nextToken();
+
+        assertThatThrownBy(reader::nextToken)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'\\x' is not allowed");
+
+        var valid = new JsonReader("""
+                ["\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9"]""");
+        valid.nextToken();
+        valid.nextToken();
+
+        assertThat(valid.getText()).isEqualTo("\"\\/\b\f\n\r\té");
+    }
+
+    private static JsonReader nextValue(JsonReader reader, String name) {
+        while (reader.nextToken() != null) {
+            if (name.equals(reader.currentName())) {
+                return reader;
+            }
+        }
+        throw new AssertionError("No value for " + name);
+    }
+}
@@ -0,0 +1,151 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.parser.state.MutableWriterState;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class JsonVisitorParserTest {
+
+    @Test
+    void eventsInDocumentOrder() {
+        var events = new ArrayList<String>();
+
+        JsonVisitorParser.parse("""
+                {
+                  "name": "Laurens",
+                  "age": 36,
+                  "id": 9876543210,
+                  "weight": 79.85,
+                  "married": true,
+                  "pet": null,
+                  "children": [{"name": "Anthony"}, []]
+                }""", new RecordingVisitor(events));
+
+        assertThat(events).containsExactly(
+                "startObject",
+                "field name", "text Laurens",
+                "field age", "int 36",
+                "field id", "long 9876543210",
+                "field weight", "double 79.85",
+                "field married", "boolean true",
+                "field pet", "null",
+                "field children", "startArray",
+                "startObject", "field name", "text Anthony", "endObject",
+                "startArray", "endArray",
+                "endArray",
+                "endObject");
+    }
+
+    @Test
+    void visitorOnlyImplementsTheEventsItNeeds() {
+        var total = new long[1];
+
+        JsonVisitorParser.parse("[1, 2, 3, \"four\", [5]]".getBytes(), new JsonVisitor() {
+            @Override
+            public void value(int number) {
+                total[0] += number;
+            }
+        });
+
+        assertThat(total[0]).isEqualTo(11);
+    }
+
+    @Test
+    void identifiersArePassedAsTheyAreWhenTheVisitorDoesntNeedCanonicalOnes() {
+        var identifiers = new ArrayList<String>();
+        var canonical = new ArrayList<Boolean>();
+
+        JsonVisitorParser.parse("{\"name\": \"Laurens\", \"child\": {\"name\": \"Anthony\"}}".getBytes(), new JsonVisitor() {
+            @Override
+            public boolean canonicalIdentifiers() {
+                return false;
+            }
+
+            @Override
+            public void field(CharSequence identifier) {
+                identifiers.add(identifier.toString());
+                canonical.add(identifier instanceof String);
+            }
+        });
+
+        assertThat(identifiers).containsExactly("name", "child", "name");
+        assertThat(canonical).containsOnly(false);
+    }
+
+    @Test
+    void numbersFollowTheNumberPolicy() {
+        var events = new ArrayList<String>();
+
+        JsonVisitorParser.parse("[1, 2.5]", new MutableWriterState(NumberPolicy.INTEGRAL_OR_BIG_DECIMAL), new RecordingVisitor(events));
+
+        assertThat(events).containsExactly("startArray", "int 1", "decimal 2.5", "endArray");
+    }
+
+    private record RecordingVisitor(List<String> events) implements JsonVisitor {
+
+        @Override
+        public void startObject() {
+            events.add("startObject");
+        }
+
+        @Override
+        public void field(CharSequence identifier) {
+            events.add("field " + identifier);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("endObject");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("startArray");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("endArray");
+        }
+
+        @Override
+        public void value(CharSequence text) {
+            events.add("text " + text);
+        }
+
+        @Override
+        public void value(int number) {
+            events.add("int " + number);
+        }
+
+        @Override
+        public void value(long number) {
+            events.add("long " + number);
+        }
+
+        @Override
+        public void value(double number) {
+            events.add("double " + number);
+        }
+
+        @Override
+        public void value(BigDecimal number) {
+            events.add("decimal " + number);
+        }
+
+        @Override
+        public void value(boolean bool) {
+            events.add("boolean " + bool);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+    }
+}
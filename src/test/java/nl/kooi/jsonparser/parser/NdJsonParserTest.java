@@ -0,0 +1,56 @@
+package nl.kooi.jsonparser.parser;
+
+import nl.kooi.jsonparser.json.JsonNode;
+import nl.kooi.jsonparser.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class NdJsonParserTest {
+
+    private static final String LINES = IntStream.range(0, 20_000)
+            .mapToObj(i -> "{\"id\": %d, \"message\": \"line %d\", \"tags\": [\"a\", \"b\"]}".formatted(i, i))
+            .collect(Collectors.joining("\n", "", "\n"));
+
+    @Test
+    void linesInOriginalOrder() {
+        var ids = NdJsonParser.parse(LINES.getBytes(StandardCharsets.UTF_8))
+                .map(object -> object.get("id"))
+                .toList();
+
+        assertThat(ids).isEqualTo(IntStream.range(0, 20_000).boxed().toList());
+    }
+
+    @Test
+    void linesWithoutKeepingTheOrder() {
+        var sink = new ConcurrentLinkedQueue<JsonObject>();
+
+        NdJsonParser.parse(LINES, false, sink::add);
+
+        assertThat(sink.stream().map(object -> (Integer) object.get("id")).sorted().toList())
+                .isEqualTo(IntStream.range(0, 20_000).boxed().toList());
+    }
+
+    @Test
+    void emptyLinesAndCarriageReturns() {
+        var objects = NdJsonParser.parse("""
+                {"name": "Laurens"}\r
+
+                {"name": "Andreas"}\r
+                """).toList();
+
+        assertThat(objects).extracting(JsonObject::jsonNodes)
+                .containsExactly(new JsonNode[]{new JsonNode("name", "Laurens")}, new JsonNode[]{new JsonNode("name", "Andreas")});
+    }
+
+    @Test
+    void emptyInput() {
+        assertThat(NdJsonParser.parse("").toList()).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,75 @@
+package nl.kooi.jsonparser.parser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StructuralIndexTest {
+
+    @Test
+    void structuralCharactersOutsideStrings() {
+        var json = """
+                {"a\\\\": [1, "x,\\"]"], "b": {}}""";
+
+        var positions = StructuralIndex.build(json.getBytes(StandardCharsets.UTF_8), 0, json.length());
+
+        assertThat(Arrays.stream(positions).mapToObj(position -> String.valueOf(json.charAt(position))))
+                .containsExactly("{", "\"", ":", "[", ",", "\"", "]", ",", "\"", ":", "{", "}", "}");
+    }
+
+    @Test
+    void theVectorApiIsUsedWhenAvailable() {
+        assertThat(StructuralIndex.isVectorized()).isTrue();
+    }
+
+    @Test
+    void vectorAndScalarGiveTheSameResultAsACharacterByCharacterScan() {
+        var random = new Random(42);
+        var alphabet = "{}[]:, \"\\\\ab1é".getBytes(StandardCharsets.UTF_8);
+
+        for (var run = 0; run < 200; run++) {
+            var input = new byte[random.nextInt(400)];
+            for (var i = 0; i < input.length; i++) {
+                input[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            var from = input.length == 0 ? 0 : random.nextInt(input.length);
+
+            var expected = characterByCharacter(input, from, input.length);
+
+            assertThat(StructuralIndex.build(input, from, input.length, new ScalarBlockClassifier())).isEqualTo(expected);
+            assertThat(StructuralIndex.build(input, from, input.length, new VectorBlockClassifier())).isEqualTo(expected);
+        }
+    }
+
+    /*
+     * Like the StructuralIndex, a backslash outside a string also escapes the next quote, which only
+     * makes a difference for invalid JSON.
+     */
+    private static int[] characterByCharacter(byte[] input, int from, int to) {
+        var positions = new int[to - from];
+        var count = 0;
+        var inString = false;
+        var escaped = false;
+
+        for (var i = from; i < to; i++) {
+            var character = input[i];
+            var quote = character == '"' && !escaped;
+            escaped = !escaped && character == '\\';
+
+            if (inString) {
+                inString = !quote;
+            } else if (quote) {
+                inString = true;
+                positions[count++] = i;
+            } else if ("{}[]:,".indexOf(character) >= 0) {
+                positions[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(positions, count);
+    }
+}
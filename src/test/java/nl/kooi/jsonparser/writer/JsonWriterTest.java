@@ -0,0 +1,93 @@
+package nl.kooi.jsonparser.writer;
+
+import nl.kooi.jsonparser.json.IntList;
+import nl.kooi.jsonparser.json.JsonNode;
+import nl.kooi.jsonparser.json.JsonObject;
+import nl.kooi.jsonparser.parser.JsonObjectParser;
+import nl.kooi.jsonparser.parser.JsonVisitorParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+class JsonWriterTest {
+
+    @Test
+    void writeAnObject() {
+        var jsonObject = new JsonObject(new JsonNode[]{
+                new JsonNode("name", "Laurens"),
+                new JsonNode("age", 36),
+                new JsonNode("height", 1.85),
+                new JsonNode("balance", new BigDecimal("12345678901234567890.5")),
+                new JsonNode("married", true),
+                new JsonNode("pet", null),
+                new JsonNode("numbers", new IntList(new int[]{1, -2, Integer.MIN_VALUE})),
+                new JsonNode("address", new JsonObject(new JsonNode[]{new JsonNode("city", "Utrecht")})),
+                new JsonNode("empty", new JsonObject(null)),
+                new JsonNode("mixed", Arrays.asList("a", 1L, Long.MIN_VALUE, null, List.of()))});
+
+        assertThat(JsonWriter.toJson(jsonObject)).isEqualTo("""
+                {"name":"Laurens","age":36,"height":1.85,"balance":12345678901234567890.5,"married":true,\
+                "pet":null,"numbers":[1,-2,-2147483648],"address":{"city":"Utrecht"},"empty":{},\
+                "mixed":["a",1,-9223372036854775808,null,[]]}""");
+    }
+
+    @Test
+    void escapeStrings() {
+        assertThat(JsonWriter.toJson("quote \" backslash \\ tab \t newline \n bell \u0007 é"))
+                .isEqualTo("\"quote \\\" backslash \\\\ tab \\t newline \\n bell \\u0007 é\"");
+    }
+
+    @Test
+    void writeAJsonNode() {
+        assertThat(JsonWriter.toJson(new JsonNode("name", "Laurens"))).isEqualTo("{\"name\":\"Laurens\"}");
+    }
+
+    @Test
+    void roundTripThroughOutputStreamAndByteBuffer() {
+        var json = IntStream.range(0, 2_000)
+                .mapToObj(i -> "\"key %d 😀\": [%d, %d.5, \"ünïcödé\"]".formatted(i, i, i))
+                .collect(Collectors.joining(",", "{", "}"));
+        var jsonObject = JsonObjectParser.parse(json);
+        var writer = new JsonWriter();
+
+        var outputStream = new ByteArrayOutputStream();
+        writer.write(jsonObject, outputStream);
+        var byteBuffer = ByteBuffer.allocate(outputStream.size());
+        writer.write(jsonObject, byteBuffer);
+
+        assertThat(JsonObjectParser.parse(outputStream.toByteArray())).isEqualTo(jsonObject);
+        assertThat(byteBuffer.array()).isEqualTo(outputStream.toByteArray());
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(JsonWriter.toJson(jsonObject));
+    }
+
+    @Test
+    void invalidValues() {
+        assertThatThrownBy(() -> JsonWriter.toJson(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> JsonWriter.toJson(new Object())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JsonWriter().write("too long", ByteBuffer.allocate(4))).isInstanceOf(BufferOverflowException.class);
+    }
+
+    @Test
+    void pipeAParseIntoTheWriter() {
+        var json = new StringBuilder();
+
+        new JsonWriter().write("""
+                {"name": "Laurens", "numbers": [1, 2.5, {"empty": []}], "married": true, "pet": null}""",
+                (input, writer) -> JsonVisitorParser.parse(input, writer), json);
+
+        assertThat(json.toString()).isEqualTo("""
+                {"name":"Laurens","numbers":[1,2.5,{"empty":[]}],"married":true,"pet":null}""");
+        assertThatThrownBy(() -> new JsonWriter().startObject()).isInstanceOf(IllegalStateException.class);
+    }
+}